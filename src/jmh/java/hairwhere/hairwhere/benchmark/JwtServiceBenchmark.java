@@ -0,0 +1,82 @@
+package hairwhere.hairwhere.benchmark;
+
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.service.JwtClaims;
+import hairwhere.hairwhere.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 발급/검증 처리량 비교.
+ * legacyVerify 는 변경 전 JwtService 처럼 매번 키/파서를 만들고 subject 와 만료 시간을 따로 파싱한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JwtServiceBenchmark {
+
+    private static final long VALIDITY_SECONDS = 3600;
+
+    private String secret;
+    private JwtService uncachedJwtService;
+    private JwtService cachedJwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secret = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        uncachedJwtService = new JwtService(secret, VALIDITY_SECONDS, 0);
+        cachedJwtService = new JwtService(secret, VALIDITY_SECONDS, 1024);
+
+        user = new User(123456789L, "benchmark", "https://example.com/profile.png");
+        user.setId(1L);
+        token = uncachedJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return uncachedJwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyVerify() {
+        String subject = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return subject != null && !expiration.before(new Date());
+    }
+
+    @Benchmark
+    public JwtClaims verify() {
+        return uncachedJwtService.verify(token);
+    }
+
+    @Benchmark
+    public JwtClaims verifyCached() {
+        return cachedJwtService.verify(token);
+    }
+
+    private Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        return Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
+}
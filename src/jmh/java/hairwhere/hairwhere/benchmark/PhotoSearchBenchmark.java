@@ -0,0 +1,180 @@
+package hairwhere.hairwhere.benchmark;
+
+import hairwhere.hairwhere.service.PhotoSearchIndex;
+import hairwhere.hairwhere.service.SearchAttribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 속성 검색 비교: 기존 PhotoRepository.search JPQL 이 만드는 SQL(H2, MySQL 모드) vs 비트맵 인덱스.
+ * 두 쪽 모두 한 페이지(15건)의 id 와 전체 건수까지 구한다. 이후 id 로 사진을 불러오는 비용은 같으므로 제외했다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhotoSearchBenchmark {
+
+    private static final String[] HAIR_NAMES = new String[40];
+    private static final String[] HAIR_LENGTHS = {"short", "medium", "long"};
+    private static final String[] HAIR_COLORS = {"black", "brown", "blonde", "red", "ash", "pink", "blue", "gray"};
+    private static final String[] GENDERS = {"male", "female"};
+
+    static {
+        for (int i = 0; i < HAIR_NAMES.length; i++) {
+            HAIR_NAMES[i] = "style" + i;
+        }
+    }
+
+    // 기존 JPQL 검색을 Hibernate 가 번역한 형태 그대로
+    private static final String PAGE_SQL = "SELECT p.photo_id FROM photo p WHERE " +
+        "(? IS NULL OR ? = '' OR p.hair_name = ?) AND " +
+        "(? IS NULL OR ? = '' OR p.hair_length = ?) AND " +
+        "(? IS NULL OR ? = '' OR p.hair_color = ?) AND " +
+        "(? IS NULL OR ? = '' OR p.gender = ?) " +
+        "ORDER BY p.created DESC LIMIT ? OFFSET ?";
+    private static final String COUNT_SQL = "SELECT COUNT(p.photo_id) FROM photo p WHERE " +
+        "(? IS NULL OR ? = '' OR p.hair_name = ?) AND " +
+        "(? IS NULL OR ? = '' OR p.hair_length = ?) AND " +
+        "(? IS NULL OR ? = '' OR p.hair_color = ?) AND " +
+        "(? IS NULL OR ? = '' OR p.gender = ?)";
+
+    @Param({"1000000"})
+    private int photoCount;
+
+    private Connection connection;
+    private PhotoSearchIndex index;
+
+    private final Pageable page = PageRequest.of(0, 15, Sort.by(Sort.Direction.DESC, "created"));
+    private Map<SearchAttribute, Set<String>> singleValueFilter;
+    private Map<SearchAttribute, Set<String>> multiValueFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:search-bench;MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE photo (photo_id BIGINT PRIMARY KEY, hair_name VARCHAR(255), " +
+                "hair_length VARCHAR(255), hair_color VARCHAR(255), gender VARCHAR(255), created TIMESTAMP)");
+        }
+
+        index = new PhotoSearchIndex();
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO photo VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= photoCount; id++) {
+                String hairName = HAIR_NAMES[random.nextInt(HAIR_NAMES.length)];
+                String hairLength = HAIR_LENGTHS[random.nextInt(HAIR_LENGTHS.length)];
+                String hairColor = HAIR_COLORS[random.nextInt(HAIR_COLORS.length)];
+                String gender = GENDERS[random.nextInt(GENDERS.length)];
+                LocalDateTime created = base.plusSeconds(random.nextInt(365 * 24 * 3600));
+
+                insert.setLong(1, id);
+                insert.setString(2, hairName);
+                insert.setString(3, hairLength);
+                insert.setString(4, hairColor);
+                insert.setString(5, gender);
+                insert.setTimestamp(6, Timestamp.valueOf(created));
+                insert.addBatch();
+                if (id % 10_000 == 0) {
+                    insert.executeBatch();
+                }
+
+                index.add(id, hairName, hairLength, hairColor, gender, created);
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+
+        singleValueFilter = new EnumMap<>(SearchAttribute.class);
+        singleValueFilter.put(SearchAttribute.HAIR_COLOR, Set.of("brown"));
+        singleValueFilter.put(SearchAttribute.GENDER, Set.of("female"));
+
+        multiValueFilter = new EnumMap<>(SearchAttribute.class);
+        multiValueFilter.put(SearchAttribute.HAIR_COLOR, new LinkedHashSet<>(List.of("brown", "black", "ash")));
+        multiValueFilter.put(SearchAttribute.HAIR_LENGTH, Set.of("long"));
+        multiValueFilter.put(SearchAttribute.GENDER, Set.of("female"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public List<Long> jpqlSearch() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(PAGE_SQL)) {
+            bind(statement, null, null, "brown", "female");
+            statement.setInt(13, page.getPageSize());
+            statement.setLong(14, page.getOffset());
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    ids.add(rows.getLong(1));
+                }
+            }
+        }
+        try (PreparedStatement statement = connection.prepareStatement(COUNT_SQL)) {
+            bind(statement, null, null, "brown", "female");
+            try (ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                ids.add(rows.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    @Benchmark
+    public PhotoSearchIndex.IdPage indexSearch() {
+        return index.search(singleValueFilter, page);
+    }
+
+    @Benchmark
+    public PhotoSearchIndex.IdPage indexSearchMultiValue() {
+        return index.search(multiValueFilter, page);
+    }
+
+    @Benchmark
+    public PhotoSearchIndex.IdPage indexSearchById() {
+        return index.search(singleValueFilter, PageRequest.of(0, 15, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    private void bind(PreparedStatement statement, String hairName, String hairLength, String hairColor,
+                      String gender) throws SQLException {
+        String[] values = {hairName, hairLength, hairColor, gender};
+        for (int i = 0; i < values.length; i++) {
+            statement.setString(i * 3 + 1, values[i]);
+            statement.setString(i * 3 + 2, values[i]);
+            statement.setString(i * 3 + 3, values[i]);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package hairwhere.hairwhere.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hairwhere.hairwhere.domain.Comment;
+import hairwhere.hairwhere.domain.Like;
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.CommentResponse;
+import hairwhere.hairwhere.dto.PhotoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> 응답 DTO 변환과 목록 응답 JSON 직렬화 처리량.
+ * 사진은 이미지 3장, 축소본, 좋아요 20개를 가진 상태로, 댓글은 답글 5개에 각각 답글 2개가 달린 트리로 만든다.
+ * 객체 할당량은 build.gradle 의 jmh 블록에 둔 gc 프로파일러(gc.alloc.rate.norm, B/op)로 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResponseMappingBenchmark {
+
+    private static final int PAGE_SIZE = 15;
+    private static final int LIKES_PER_PHOTO = 20;
+
+    private Photo photo;
+    private Comment comment;
+    private Page<PhotoResponse> page;
+    // 스프링 부트가 HTTP 메시지 변환에 쓰는 것과 같은 기본 모듈(JavaTimeModule 등)로 만든다.
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Setup
+    public void setUp() {
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 12, 0);
+        photo = photo(1L, created);
+        comment = comment(1L, null, created, 0);
+
+        List<PhotoResponse> content = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            PhotoResponse response = PhotoResponse.fromEntity(photo(id, created.minusHours(id)));
+            response.setViewerHasLiked(id % 3 == 0);
+            content.add(response);
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "created")), 1000);
+    }
+
+    @Benchmark
+    public PhotoResponse photoFromEntity() {
+        return PhotoResponse.fromEntity(photo);
+    }
+
+    @Benchmark
+    public CommentResponse commentFrom() {
+        return CommentResponse.from(comment);
+    }
+
+    @Benchmark
+    public byte[] serializePhotoPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static Photo photo(long id, LocalDateTime created) {
+        User author = user(id);
+        List<String> imagePaths = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            imagePaths.add("https://storage.googleapis.com/hairwhere/photos/" + id + "/" + i + ".jpg");
+        }
+        Photo photo = Photo.builder()
+            .id(id)
+            .kakaoId(author.getKakaoId())
+            .nickname(author.getNickName())
+            .photoImagePath(imagePaths)
+            .imageVariants(true)
+            .likeCount(LIKES_PER_PHOTO)
+            .hairName("레이어드컷")
+            .text("앞머리는 눈썹 아래로 가볍게, 뒤는 어깨에 닿는 길이로 층을 냈어요.")
+            .gender("female")
+            .created(created)
+            .hairSalon("헤어웨어 강남점")
+            .hairSalonAddress("서울 강남구 테헤란로 123")
+            .latitude(37.5006)
+            .longitude(127.0364)
+            .hairLength("medium")
+            .hairColor("brown")
+            .user(author)
+            .build();
+        for (long i = 0; i < LIKES_PER_PHOTO; i++) {
+            photo.getLikes().add(new Like(photo, user(1000 + i)));
+        }
+        return photo;
+    }
+
+    private static Comment comment(long id, Comment parent, LocalDateTime created, int depth) {
+        Photo photo = Photo.builder().id(1L).build();
+
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setContent("이 스타일 어느 디자이너님께 받으셨나요? 펌도 같이 하신 건가요?");
+        comment.setUser(user(id));
+        comment.setPhoto(photo);
+        comment.setParent(parent);
+        comment.setCreatedAt(created);
+        if (depth < 2) {
+            int replies = depth == 0 ? 5 : 2;
+            for (int i = 1; i <= replies; i++) {
+                comment.getReplies().add(comment(id * 10 + i, comment, created.plusMinutes(i), depth + 1));
+            }
+        }
+        return comment;
+    }
+
+    private static User user(long id) {
+        User user = new User(100_000_000L + id, "user" + id, "https://k.kakaocdn.net/profile/" + id + ".jpg");
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package hairwhere.hairwhere.benchmark;
+
+import hairwhere.hairwhere.dto.SearchRequest;
+import hairwhere.hairwhere.service.SearchAttribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.ServletRequestDataBinder;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 요청 해석 처리량. 컨트롤러의 @ModelAttribute 바인딩과 SearchAttribute.filtersOf 의 URL 디코딩/쉼표 분리를 함께 잰다.
+ * 파라미터는 앱이 보내는 형태 그대로 한글 값을 한 번 더 인코딩하고 여러 값을 쉼표로 묶었다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchRequestBenchmark {
+
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/photo/search");
+        // 레이어드컷,허쉬컷
+        request.addParameter("hairName", "%EB%A0%88%EC%9D%B4%EC%96%B4%EB%93%9C%EC%BB%B7,%ED%97%88%EC%89%AC%EC%BB%B7");
+        request.addParameter("hairLength", "medium");
+        request.addParameter("hairColor", "brown, black ,ash");
+        request.addParameter("gender", "female");
+    }
+
+    @Benchmark
+    public Map<SearchAttribute, Set<String>> decode() {
+        SearchRequest searchRequest = new SearchRequest();
+        new ServletRequestDataBinder(searchRequest).bind(request);
+        return SearchAttribute.filtersOf(searchRequest);
+    }
+
+    @Benchmark
+    public Map<SearchAttribute, Set<String>> filtersOf() {
+        SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setHairName(request.getParameter("hairName"));
+        searchRequest.setHairLength(request.getParameter("hairLength"));
+        searchRequest.setHairColor(request.getParameter("hairColor"));
+        searchRequest.setGender(request.getParameter("gender"));
+        return SearchAttribute.filtersOf(searchRequest);
+    }
+}
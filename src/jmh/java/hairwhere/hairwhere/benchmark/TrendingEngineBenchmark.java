@@ -0,0 +1,55 @@
+package hairwhere.hairwhere.benchmark;
+
+import hairwhere.hairwhere.service.TrendingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * trending 점수 갱신 처리량. 목표는 초당 좋아요 이벤트 1만 건이다.
+ * 사진 100만 장 중 최근 사진에 반응이 몰리도록 id 를 치우치게 뽑고, 4 개 스레드가 동시에 갱신한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TrendingEngineBenchmark {
+
+    private static final int PHOTOS = 1_000_000;
+    private static final String[] GENDERS = {"male", "female"};
+
+    private TrendingEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new TrendingEngine(null, null, Clock.systemUTC(), Duration.ofHours(12), 100, 1, 2);
+        // 점수가 있는 사진이 충분히 쌓인 상태에서 측정한다.
+        for (int i = 0; i < PHOTOS; i++) {
+            recordLike();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordLike() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long photoId = PHOTOS - (long) (PHOTOS * Math.pow(random.nextDouble(), 3));
+        engine.record(photoId, GENDERS[(int) (photoId & 1)], random.nextInt(10) == 0 ? -1 : 1, System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<Long> top() {
+        return engine.top(GENDERS[ThreadLocalRandom.current().nextInt(2)], 20);
+    }
+}
@@ -0,0 +1,51 @@
+package hairwhere.hairwhere.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 비동기 작업용 스레드 풀.
+ * uploadExecutor: 이미지 업로드 전용. 크기와 대기열을 제한해 동시 업로드가 몰려도 GCS 연결과 스레드 수가 늘어나지 않게 하고,
+ * 대기열이 차면 요청 스레드가 직접 업로드해 자연스럽게 속도를 늦춘다.
+ * ioExecutor: 외부 호출(GCS, 카카오)을 기다리는 컨트롤러 작업용. 요청 스레드는 CompletableFuture 를 반환하고 바로 풀려나므로
+ * Tomcat 스레드 수가 아니라 이 풀이 동시 처리량을 정한다. 대기열이 차면 마찬가지로 요청 스레드가 직접 실행한다.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean(name = "uploadExecutor")
+    public ThreadPoolTaskExecutor uploadExecutor(
+        @Value("${photo.upload.pool-size:8}") int poolSize,
+        @Value("${photo.upload.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean(name = "ioExecutor")
+    public ThreadPoolTaskExecutor ioExecutor(
+        @Value("${io.executor.pool-size:64}") int poolSize,
+        @Value("${io.executor.queue-capacity:256}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("io-");
+        // 요청별 SQL 문 수가 작업 스레드에서도 같은 요청으로 집계되도록
+        executor.setTaskDecorator(QueryCounter::propagate);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,106 @@
+package hairwhere.hairwhere.config;
+
+import hairwhere.hairwhere.dto.AuthUser;
+import hairwhere.hairwhere.service.JwtService;
+import hairwhere.hairwhere.service.KakaoService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.util.Collections;
+
+/**
+ * Authorization 헤더의 JWT 를 로컬에서 검증하고 SecurityContext 에 AuthUser 를 넣는다.
+ * 자체 JWT 가 아닌 토큰은 기존 클라이언트의 카카오 액세스 토큰으로 보고 캐시를 거쳐 확인한다.
+ * 카카오가 토큰을 거절하면 비로그인으로 둔다. 카카오를 확인할 수 없을 때(서킷 열림, 5xx, 타임아웃)도 비로그인으로 계속하므로
+ * 공개 조회는 카카오 장애와 상관없이 응답하고, 로그인이 필요한 요청만 401 대신 503 으로 거절된다(SecurityConfig 의 진입점).
+ * 401 로 응답하면 클라이언트가 멀쩡한 토큰을 버리고 다시 로그인하게 되기 때문이다.
+ * 인증 결과는 securityContextRepository(요청 속성)에도 저장한다. CompletableFuture 를 반환하는 엔드포인트는
+ * 응답을 쓰러 ASYNC 디스패치를 한 번 더 거치는데, 이 필터는 그때 다시 돌지 않으므로 저장한 값으로 인증을 이어간다.
+ */
+@RequiredArgsConstructor
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    /**
+     * 카카오 토큰을 확인하지 못했을 때 그 이유(ResponseStatusException)를 담아 두는 요청 속성.
+     */
+    public static final String AUTHENTICATION_UNAVAILABLE = JwtAuthenticationFilter.class.getName() + ".unavailable";
+
+    private final JwtService jwtService;
+    private final KakaoService kakaoService;
+    private final SecurityContextRepository securityContextRepository;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && !header.isBlank()) {
+            String token = header.startsWith("Bearer ") ? header.substring(7) : header;
+            AuthUser authUser = null;
+            try {
+                authUser = resolve(token);
+            } catch (ResponseStatusException e) {
+                request.setAttribute(AUTHENTICATION_UNAVAILABLE, e);
+            } catch (WebClientException e) {
+                log.warn("카카오 토큰 확인 불가: {}", e.getMessage());
+                request.setAttribute(AUTHENTICATION_UNAVAILABLE, new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "카카오 로그인이 잠시 원활하지 않습니다. 잠시 후 다시 시도해주세요.", e));
+            }
+
+            if (authUser != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                    new UsernamePasswordAuthenticationToken(authUser, null, Collections.emptyList());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+                securityContextRepository.saveContext(context, request, response);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private AuthUser resolve(String token) {
+        if (jwtService.isJwt(token)) {
+            try {
+                return jwtService.extractAuthUser(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                log.debug("JWT 검증 실패: {}", e.getMessage());
+                return null;
+            }
+        }
+
+        try {
+            return AuthUser.from(kakaoService.getUserByToken(token));
+        } catch (WebClientResponseException e) {
+            // 4xx 는 카카오가 토큰을 거절한 것(만료, 잘못된 토큰)이고, 그 밖에는 카카오 쪽 문제이다.
+            if (!e.getStatusCode().is4xxClientError()) {
+                throw e;
+            }
+            log.debug("카카오 토큰 확인 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package hairwhere.hairwhere.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * 카카오 API 전용 WebClient.
+ * 연결 풀 크기와 풀 대기 시간을 제한하고 연결/응답 타임아웃을 두어,
+ * 카카오가 느려져도 호출이 무한정 쌓이거나 요청 스레드가 오래 묶이지 않게 한다.
+ */
+@Configuration
+public class KakaoClientConfig {
+
+    @Bean(name = "kakaoConnectionProvider", destroyMethod = "dispose")
+    public ConnectionProvider kakaoConnectionProvider(
+        @Value("${kakao.api.max-connections:50}") int maxConnections,
+        @Value("${kakao.api.pending-acquire-timeout-ms:500}") long pendingAcquireTimeoutMs) {
+        return ConnectionProvider.builder("kakao")
+            .maxConnections(maxConnections)
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+            // 카카오 쪽에서 먼저 끊은 유휴 연결을 재사용하지 않도록
+            .maxIdleTime(Duration.ofSeconds(20))
+            .evictInBackground(Duration.ofSeconds(30))
+            .build();
+    }
+
+    @Bean(name = "kakaoWebClient")
+    public WebClient kakaoWebClient(
+        WebClient.Builder builder,
+        @Qualifier("kakaoConnectionProvider") ConnectionProvider connectionProvider,
+        @Value("${kakao.api.connect-timeout-ms:1000}") int connectTimeoutMs,
+        @Value("${kakao.api.response-timeout-ms:2000}") long responseTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+            // 요청을 보낸 뒤 읽기 사이의 최대 간격. 풀에서 쉬는 연결에는 적용되지 않는다.
+            .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        return builder.clone()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+}
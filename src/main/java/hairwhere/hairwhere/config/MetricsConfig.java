@@ -0,0 +1,23 @@
+package hairwhere.hairwhere.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Actuator/Micrometer 설정.
+ * metrics.properties 에 Prometheus 엔드포인트 노출과 http.server.requests 히스토그램 기본값을 둔다.
+ * 배포 환경의 application.properties 가 더 우선하므로 거기서 덮어쓸 수 있다.
+ * 카카오, GCS, 좋아요, 배치 작업의 미터는 각 컴포넌트가 직접 등록한다.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCounter());
+    }
+}
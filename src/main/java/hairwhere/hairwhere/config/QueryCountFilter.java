@@ -0,0 +1,66 @@
+package hairwhere.hairwhere.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 하나가 실행한 SQL 문 수를 http.server.requests.queries 분포로 남긴다. (method, uri 태그)
+ * N+1 이 다시 생기면 평균이 아니라 이 분포의 꼬리에서 먼저 보인다.
+ * 비동기 요청은 처음 디스패치에서 카운터를 요청 속성에 두고, 비동기 디스패치가 끝날 때 한 번만 기록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String COUNTER_ATTRIBUTE = QueryCountFilter.class.getName() + ".counter";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        AtomicInteger counter = (AtomicInteger) request.getAttribute(COUNTER_ATTRIBUTE);
+        if (counter == null) {
+            counter = new AtomicInteger();
+            request.setAttribute(COUNTER_ATTRIBUTE, counter);
+        }
+
+        QueryCounter.bind(counter);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCounter.unbind();
+            if (!request.isAsyncStarted()) {
+                record(request, counter.get());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("http.server.requests.queries")
+            .description("요청당 실행한 SQL 문 수")
+            .tag("method", request.getMethod())
+            // 경로 변수가 그대로 들어가면 태그 수가 끝없이 늘어나므로 매핑된 패턴만 쓴다.
+            .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(statements);
+    }
+}
@@ -0,0 +1,55 @@
+package hairwhere.hairwhere.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청마다 Hibernate 가 실행한 SQL 문 수를 센다.
+ * QueryCountFilter 가 요청 시작 시 카운터를 스레드에 묶고, ioExecutor 로 넘긴 작업에는 propagate 로 같은 카운터가 따라간다.
+ * 묶인 카운터가 없는 스레드(스케줄 작업 등)의 SQL 은 세지 않는다.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter != null) {
+            counter.incrementAndGet();
+        }
+        return sql;
+    }
+
+    static void bind(AtomicInteger counter) {
+        CURRENT.set(counter);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 작업을 넘기는 스레드의 카운터를 작업을 실행하는 스레드에서도 쓰도록 감쌉니다. (TaskDecorator)
+     */
+    static Runnable propagate(Runnable task) {
+        AtomicInteger counter = CURRENT.get();
+        if (counter == null) {
+            return task;
+        }
+        return () -> {
+            AtomicInteger previous = CURRENT.get();
+            CURRENT.set(counter);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
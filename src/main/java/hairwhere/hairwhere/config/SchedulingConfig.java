@@ -0,0 +1,12 @@
+package hairwhere.hairwhere.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 좋아요 수 반영 같은 주기 작업(@Scheduled)을 활성화한다.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
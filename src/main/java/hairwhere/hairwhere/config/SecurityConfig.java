@@ -0,0 +1,71 @@
+package hairwhere.hairwhere.config;
+
+import hairwhere.hairwhere.service.JwtService;
+import hairwhere.hairwhere.service.KakaoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.server.ResponseStatusException;
+
+@Configuration
+@EnableWebSecurity
+@RequiredArgsConstructor
+public class SecurityConfig {
+
+    private final JwtService jwtService;
+    private final KakaoService kakaoService;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // 세션 없이 요청 속성에만 두므로, 같은 요청의 ASYNC/ERROR 디스패치에서도 인증이 유지된다.
+        SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+        http
+            .csrf(AbstractHttpConfigurer::disable)
+            .httpBasic(AbstractHttpConfigurer::disable)
+            .formLogin(AbstractHttpConfigurer::disable)
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .securityContext(securityContext -> securityContext.securityContextRepository(securityContextRepository))
+            .authorizeHttpRequests(auth -> auth
+                // 로그인한 사용자만 가능한 요청
+                .requestMatchers(HttpMethod.POST, "/photo/upload", "/like/**", "/comment/**").authenticated()
+                .requestMatchers(HttpMethod.PUT, "/like/**").authenticated()
+                .requestMatchers(HttpMethod.DELETE, "/photo/delete/**", "/like/**").authenticated()
+                .requestMatchers("/kakao/mypage/**").authenticated()
+                // 메트릭(/actuator/prometheus)에는 내부 경로와 트래픽이 드러나므로 헬스 체크만 공개한다.
+                .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                .requestMatchers("/actuator/**").authenticated()
+                .anyRequest().permitAll())
+            .exceptionHandling(exception -> exception
+                .authenticationEntryPoint(authenticationEntryPoint()))
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, kakaoService, securityContextRepository),
+                UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    // 토큰을 확인할 수 없어서(카카오 장애) 비로그인이 된 경우에는 다시 로그인하라는 401 대신 그 상태(503)로 응답한다.
+    private AuthenticationEntryPoint authenticationEntryPoint() {
+        AuthenticationEntryPoint unauthorized = new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED);
+        return (request, response, authException) -> {
+            Object unavailable = request.getAttribute(JwtAuthenticationFilter.AUTHENTICATION_UNAVAILABLE);
+            if (unavailable instanceof ResponseStatusException e) {
+                response.sendError(e.getStatusCode().value(), e.getReason());
+                return;
+            }
+            unauthorized.commence(request, response, authException);
+        };
+    }
+}
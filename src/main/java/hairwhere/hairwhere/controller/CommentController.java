@@ -1,19 +1,24 @@
 package hairwhere.hairwhere.controller;
 
 import hairwhere.hairwhere.domain.Comment;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.AuthUser;
 import hairwhere.hairwhere.dto.CommentRequest;
 import hairwhere.hairwhere.dto.CommentResponse;
+import hairwhere.hairwhere.dto.CursorPage;
 import hairwhere.hairwhere.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.servlet.http.HttpSession;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequiredArgsConstructor
@@ -21,6 +26,8 @@ import java.util.stream.Collectors;
 public class CommentController {
 
     private final CommentService commentService;
+    @Qualifier("ioExecutor")
+    private final Executor ioExecutor;
 
     @Operation(summary = "댓글 작성"
         , description = "댓글을 작성합니다."
@@ -30,18 +37,22 @@ public class CommentController {
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping("/{photoId}")
-    @Transactional
-    public ResponseEntity<CommentResponse> createComment(@RequestHeader("Authorization") String token, @PathVariable Long photoId, @RequestBody CommentRequest commentRequest) {
+    public CompletableFuture<ResponseEntity<CommentResponse>> createComment(@AuthenticationPrincipal AuthUser authUser, @PathVariable Long photoId, @RequestBody CommentRequest commentRequest) {
         String content = commentRequest.getContent();
         Long parentId = commentRequest.getParentId();
+        User user = authUser.toUser();
 
-        Comment savedComment = commentService.createComment(token,photoId, content, parentId);
-
-        return ResponseEntity.ok(CommentResponse.from(savedComment));
+        // 트랜잭션은 CommentService 가 연다. 저장이 끝난 엔티티는 이미 채워진 필드만 읽는다.
+        return CompletableFuture.supplyAsync(() -> {
+            Comment savedComment = commentService.createComment(user, photoId, content, parentId);
+            return ResponseEntity.ok(CommentResponse.from(savedComment));
+        }, ioExecutor);
     }
 
     @Operation(summary = "댓글 조회"
-        , description = "photoId에 해당하는 댓글을 조회한다. parentId는 필수가 아님"
+        , description = "photoId에 해당하는 댓글을 size 개씩 조회한다. parentId는 필수가 아니며, 있으면 그 댓글의 답글을 조회한다. " +
+        "최상위 댓글은 최신 순, 답글은 오래된 순이고 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다. " +
+        "depth 단계까지 답글 미리보기를 펼치고, 모든 댓글에 replyCount 를 담는다"
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청"),
@@ -49,13 +60,12 @@ public class CommentController {
     })
     @GetMapping("getComments/{photoId}")
     @Transactional
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable Long photoId, @RequestParam(required = false) Long parentId) {
-        List<Comment> comments = commentService.getPhotoComments(photoId, parentId);
-
-        List<CommentResponse> responses = comments.stream()
-            .map(CommentResponse::from)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<CursorPage<CommentResponse>> getComments(@PathVariable Long photoId,
+                                                                   @RequestParam(required = false) Long parentId,
+                                                                   @RequestParam(required = false) String cursor,
+                                                                   @RequestParam(defaultValue = "20") int size,
+                                                                   @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(commentService.getComments(photoId, parentId, cursor, size, depth));
     }
 
     @Operation(summary = "댓글 삭제"
@@ -1,24 +1,30 @@
 package hairwhere.hairwhere.controller;
 
-import hairwhere.hairwhere.service.KakaoService;
+import hairwhere.hairwhere.dto.AuthUser;
 import hairwhere.hairwhere.service.LikeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @RestController
 @RequestMapping("like")
 @RequiredArgsConstructor
 public class LikeController {
 
     private final LikeService likeService;
-    private final KakaoService kakaoService;
+    @Qualifier("ioExecutor")
+    private final Executor ioExecutor;
 
     @Operation(summary = "좋아요 추가/삭제"
         , description = "좋아요 추가 또는 삭제를 수행합니다. "
@@ -28,19 +34,44 @@ public class LikeController {
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping("/{id}")
-    @Transactional
-    public ResponseEntity<String> addLike(@PathVariable("id") Long id, @RequestHeader("Authorization") String token) {
-        Long kakaoId = kakaoService.getKakaoUserInfo(token).getId();
+    public CompletableFuture<ResponseEntity<String>> addLike(@PathVariable("id") Long id, @AuthenticationPrincipal AuthUser authUser) {
+        Long userId = authUser.getId();
 
-        boolean isLiked = likeService.isLiked(id,kakaoId);
+        return CompletableFuture.supplyAsync(() -> likeService.isLiked(id, userId), ioExecutor)
+            .thenApply(isLiked -> {
+                if(isLiked){
+                    return ResponseEntity.status(HttpStatus.OK).body("좋아요 삭제");
+                }
+                else{
+                    //likeService.saveUser(userId,id);
+                    return ResponseEntity.status(HttpStatus.OK).body("좋아요 추가");
+                }
+            });
+    }
 
-        if(isLiked){
-            return ResponseEntity.status(HttpStatus.OK).body("좋아요 삭제");
-        }
-        else{
-            //likeService.saveUser(userId,id);
-            return ResponseEntity.status(HttpStatus.OK).body("좋아요 추가");
-        }
+    @Operation(summary = "좋아요 추가"
+        , description = "좋아요를 추가합니다. 이미 좋아요한 상태여도 같은 응답을 반환합니다(멱등)."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PutMapping("/{id}")
+    public ResponseEntity<String> like(@PathVariable("id") Long id, @AuthenticationPrincipal AuthUser authUser) {
+        likeService.like(id, authUser.getId());
+        return ResponseEntity.status(HttpStatus.OK).body("좋아요 추가");
+    }
 
+    @Operation(summary = "좋아요 삭제"
+        , description = "좋아요를 취소합니다. 좋아요하지 않은 상태여도 같은 응답을 반환합니다(멱등)."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> unlike(@PathVariable("id") Long id, @AuthenticationPrincipal AuthUser authUser) {
+        likeService.unlike(id, authUser.getId());
+        return ResponseEntity.status(HttpStatus.OK).body("좋아요 삭제");
     }
 }
@@ -3,7 +3,12 @@ package hairwhere.hairwhere.controller;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import hairwhere.hairwhere.domain.Photo;
 import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.AuthUser;
+import hairwhere.hairwhere.dto.CursorPage;
+import hairwhere.hairwhere.dto.LikerResponse;
 import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.dto.PhotoSort;
+import hairwhere.hairwhere.dto.SearchFacetResponse;
 import hairwhere.hairwhere.dto.SearchRequest;
 import hairwhere.hairwhere.dto.UploadRequest;
 import hairwhere.hairwhere.dto.UploadResponse;
@@ -17,13 +22,17 @@ import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.UnsupportedEncodingException;
@@ -31,6 +40,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @RestController
 @RequiredArgsConstructor
@@ -40,11 +52,12 @@ public class PhotoController {
     private final PhotoService photoService;
     private final LikeService likeService;
     private final PhotoRepository photoRepository;
+    private final ContentVersions contentVersions;
+    @Qualifier("ioExecutor")
+    private final Executor ioExecutor;
 
     private static final Logger logger = LoggerFactory.getLogger(PhotoController.class);
     private final UserRepository userRepository;
-    private final KakaoService kakaoService;
-    private final JwtService jwtService;
 
     @Operation(summary = "token을 사용해서 사진 업로드"
         , description = "token을 사용해서 사진 업로드"
@@ -54,21 +67,9 @@ public class PhotoController {
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping("/upload")
-    public ResponseEntity<UploadResponse> upload(@ModelAttribute("uploadRequest") UploadRequest uploadRequest,
-                                                 @RequestHeader("Authorization") String token) {
+    public CompletableFuture<ResponseEntity<UploadResponse>> upload(@ModelAttribute("uploadRequest") UploadRequest uploadRequest,
+                                                                    @AuthenticationPrincipal AuthUser authUser) {
         try {
-            // Bearer 토큰에서 실제 토큰 추출
-            if (token == null || !token.startsWith("Bearer ")) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new UploadResponse("유효하지 않은 토큰 형식입니다."));
-            }
-
-            // "Bearer " 접두사 제거
-            String actualToken = token.substring(7);
-
-            // 토큰에서 카카오 ID 추출
-            //Long kakaoId = jwtService.extractKakaoId(actualToken);
-
             // 받은 DTO 데이터 로깅
             logger.info("받은 UploadRequest: {}", uploadRequest);
             if (uploadRequest.getImage() != null) {
@@ -82,26 +83,25 @@ public class PhotoController {
                 logger.info("받은 파일 없음");
             }
 
-            // 카카오 ID로 사용자 조회
-            User user = kakaoService.kakaoUserRequestToUser(kakaoService.getKakaoUserInfo(token));
-
-            if (user == null) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(new UploadResponse("사용자를 찾을 수 없습니다."));
+            // 인증 필터에서 검증한 사용자
+            if (authUser == null) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new UploadResponse("사용자를 찾을 수 없습니다.")));
             }
+            User user = authUser.toUser();
 
             logger.info("토큰에서 추출한 사용자 '{}'", user.getNickName());
 
             // 이미지 null 체크
             MultipartFile[] image = uploadRequest.getImage();
             if (image == null || image.length == 0) {
-                return ResponseEntity.badRequest()
-                    .body(new UploadResponse("이미지 파일이 없습니다."));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(new UploadResponse("이미지 파일이 없습니다.")));
             }
 
             if (image.length > 3) {
-                return ResponseEntity.badRequest()
-                    .body(new UploadResponse("이미지는 최대 3개까지만 업로드 가능합니다."));
+                return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body(new UploadResponse("이미지는 최대 3개까지만 업로드 가능합니다.")));
             }
 
             // 이미지 타입 체크
@@ -110,8 +110,8 @@ public class PhotoController {
                 logger.info("파일: {}, 콘텐츠 타입: {}", file.getOriginalFilename(), contentType);
 
                 if (!contentType.startsWith("image/")) {
-                    return ResponseEntity.badRequest()
-                        .body(new UploadResponse("잘못된 파일 유형입니다."));
+                    return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                        .body(new UploadResponse("잘못된 파일 유형입니다.")));
                 }
             }
 
@@ -121,25 +121,38 @@ public class PhotoController {
             LocalDateTime created = LocalDateTime.parse(createdStr, formatter);
 
             int likeCount = 0;
-            Long id = photoService.upload(user.getNickName(), image, likeCount, created, user, uploadRequest);
-
-            logger.info("photoService.upload() 성공적으로 완료");
-
-            return ResponseEntity.ok(new UploadResponse(user, id));
+            // GCS 업로드를 기다리는 동안 요청 스레드를 붙잡지 않는다.
+            return CompletableFuture
+                .supplyAsync(() -> photoService.upload(user.getNickName(), image, likeCount, created, user, uploadRequest),
+                    ioExecutor)
+                .thenApply(id -> {
+                    logger.info("photoService.upload() 성공적으로 완료");
+                    return ResponseEntity.ok(new UploadResponse(user, id));
+                })
+                .exceptionally(e -> uploadFailed(e instanceof CompletionException ? e.getCause() : e));
         } catch (DateTimeParseException e) {
-            return ResponseEntity.badRequest()
-                .body(new UploadResponse("날짜 형식이 올바르지 않습니다."));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body(new UploadResponse("날짜 형식이 올바르지 않습니다.")));
         } catch (Exception e) {
-            logger.error("업로드 중 오류 발생", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new UploadResponse("서버 오류가 발생했습니다: " + e.getMessage()));
+            return CompletableFuture.completedFuture(uploadFailed(e));
         }
     }
 
+    private ResponseEntity<UploadResponse> uploadFailed(Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            return ResponseEntity.badRequest()
+                .body(new UploadResponse(e.getMessage()));
+        }
+        logger.error("업로드 중 오류 발생", e);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new UploadResponse("서버 오류가 발생했습니다: " + e.getMessage()));
+    }
+
     @Operation(summary = "메인페이지, 전체 사진을 불러온다."
         , description = "메인페이지, 전체 사진을 불러온다"
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 와 ETag 가 같음)"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
@@ -147,13 +160,18 @@ public class PhotoController {
     public Page<PhotoResponse> findAll(@RequestParam(defaultValue = "0") int page,
                                        @RequestParam(defaultValue = "15") int size,
                                        @RequestParam(defaultValue = "created") String sortBy,
-                                       @RequestParam(defaultValue = "desc") String sortOrder) {
+                                       @RequestParam(defaultValue = "desc") String sortOrder,
+                                       @AuthenticationPrincipal AuthUser viewer,
+                                       WebRequest webRequest) {
 
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return photoService.findAll(pageable);
+        if (feedNotModified(webRequest, viewer)) {
+            return null;
+        }
+        return photoService.findAll(pageable, AuthUser.idOf(viewer));
     }
 
     @Operation(summary = "hairSalon을 기준으로 사진을 불러온다."
@@ -168,42 +186,52 @@ public class PhotoController {
                                                @RequestParam(defaultValue = "15") int size,
                                                @RequestParam(defaultValue = "created") String sortBy,
                                                @RequestParam(defaultValue = "desc") String sortOrder,
-                                               @PathVariable("hairSalon") String hairSalon) {
+                                               @PathVariable("hairSalon") String hairSalon,
+                                               @AuthenticationPrincipal AuthUser viewer) {
 
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return photoService.findByHairSalon(hairSalon, pageable);
+        return photoService.findByHairSalon(hairSalon, pageable, AuthUser.idOf(viewer));
     }
 
     @Operation(summary = "사진을 선택핸 경우, 해당 사진에 대한 정보를 불러온다."
         , description = "사진을 선택핸 경우, 해당 사진에 대한 정보를 불러온다."
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 와 ETag 가 같음)"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/find/{id}")
-    public PhotoResponse search(@PathVariable("id") Long id) {
-        return photoService.findById(id);
+    public PhotoResponse search(@PathVariable("id") Long id, @AuthenticationPrincipal AuthUser viewer,
+                                WebRequest webRequest) {
+        // 버전을 데이터보다 먼저 읽어야, 그 사이 바뀐 내용이 옛 ETag 로 나가더라도 다음 요청에서 다시 받는다.
+        String etag = ContentVersions.etag("photo-" + id, contentVersions.photoVersion(id), AuthUser.idOf(viewer));
+        if (contentVersions.isEnabled() && webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return photoService.findById(id, AuthUser.idOf(viewer));
     }
 
     @Operation(summary = "id에 대한 게시글에 좋아요를 한 사용자들의 목록"
-        , description = "id에 대한 게시글에 좋아요를 한 사용자들의 목록"
+        , description = "id에 대한 게시글에 좋아요를 한 사용자들의 목록. 최근 순으로 size 명씩, 다음 페이지는 nextCursor 를 cursor 로 넘긴다."
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "404", description = "사진 없음"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/find/{id}/likes")// 게시글에 좋아요를 한 사용자들의 목록
-    public ResponseEntity<List<User>> getUserWhoPhotoLiked(@PathVariable("id") Long id) {
-        Photo photo = photoRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("사진을 찾을 수 없습니다."));
-
-        List<User> users = likeService.getUserWhoPhotoLiked(photo);
+    public ResponseEntity<CursorPage<LikerResponse>> getUserWhoPhotoLiked(@PathVariable("id") Long id,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        if (!photoRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "사진을 찾을 수 없습니다.");
+        }
 
-        return ResponseEntity.ok(users);
+        return ResponseEntity.ok(likeService.getUserWhoPhotoLiked(id, cursor, size));
     }
 
     @Operation(summary = "id에 대해 해당 게시글을 삭제한다."
@@ -214,18 +242,18 @@ public class PhotoController {
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @DeleteMapping("/delete/{id}")
-    public String delete(@PathVariable("id") Long id, @RequestHeader("Authorization") String token) {
-        User user = kakaoService.kakaoUserRequestToUser(kakaoService.getKakaoUserInfo(token));
-        String name = user.getNickName();
+    public CompletableFuture<String> delete(@PathVariable("id") Long id, @AuthenticationPrincipal AuthUser authUser) {
+        Long userId = authUser.getId();
 
-        photoService.deletePhoto(id, name);//게시글 id와 session에 저장된 name
-        return "삭제 완료";
+        // 이미지는 커밋 후 BlobDeletionWorker 가 지우므로 여기서는 DB 트랜잭션만 기다린다.
+        return CompletableFuture.supplyAsync(() -> photoService.deletePhoto(id, userId), ioExecutor);
     }
 
     @Operation(summary = "gender를 기준으로 사진을 불러온다."
         , description = "gender를 기준으로 사진을 불러온다. male, female로 하면 될 듯"
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 와 ETag 가 같음)"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
@@ -234,13 +262,18 @@ public class PhotoController {
                                             @RequestParam(defaultValue = "15") int size,
                                             @RequestParam(defaultValue = "created") String sortBy,
                                             @RequestParam(defaultValue = "desc") String sortOrder,
-                                            @PathVariable("gender") String gender) {
+                                            @PathVariable("gender") String gender,
+                                            @AuthenticationPrincipal AuthUser viewer,
+                                            WebRequest webRequest) {
 
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return photoService.findByGender(gender, pageable);
+        if (feedNotModified(webRequest, viewer)) {
+            return null;
+        }
+        return photoService.findByGender(gender, pageable, AuthUser.idOf(viewer));
     }
 
     @Operation(summary = "hairSalonAddress를 받아 사진을 불러온다."
@@ -255,20 +288,21 @@ public class PhotoController {
                                              @RequestParam(defaultValue = "15") int size,
                                              @RequestParam(defaultValue = "created") String sortBy,
                                              @RequestParam(defaultValue = "desc") String sortOrder,
-                                             @PathVariable("hairSalonAddress") String hairSalonAddress) {
+                                             @PathVariable("hairSalonAddress") String hairSalonAddress,
+                                             @AuthenticationPrincipal AuthUser viewer) {
 
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return photoService.findByHairSalonAddress(hairSalonAddress, pageable);
+        return photoService.findByHairSalonAddress(hairSalonAddress, pageable, AuthUser.idOf(viewer));
     }
 
     @Operation(summary = "SearchRequest를 받아 사진을 불러온다"
-        , description = "SearchRequest를 받아 사진을 불러온다."
+        , description = "SearchRequest를 받아 사진을 불러온다. size 는 최대 100, (page + 1) * size 는 10000 까지. 더 깊이는 /photo/feed/search 를 사용한다."
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
-        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청 또는 너무 깊은 페이지"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/search")
@@ -276,15 +310,146 @@ public class PhotoController {
                                                       @RequestParam(defaultValue = "15") int size,
                                                       @RequestParam(defaultValue = "created") String sortBy,
                                                       @RequestParam(defaultValue = "desc") String sortOrder,
-                                                      @ModelAttribute SearchRequest searchRequest) throws UnsupportedEncodingException {
+                                                      @ModelAttribute SearchRequest searchRequest,
+                                                      @AuthenticationPrincipal AuthUser viewer) throws UnsupportedEncodingException {
 
         HttpSession session = request.getSession();
 
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
-        Pageable pageable = PageRequest.of(page, size, sort);
+        // 최대 크기와 깊이는 PhotoService.search 에서 제한한다.
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(size, 1), sort);
 
         return ResponseEntity.ok()
-            .body(photoService.search(searchRequest, pageable));
+            .body(photoService.search(searchRequest, pageable, AuthUser.idOf(viewer)));
+    }
+
+    @Operation(summary = "SearchRequest에 대한 속성별 사진 수를 불러온다."
+        , description = "hairName, hairLength, hairColor, gender 값별 사진 수. 각 속성은 자기 자신의 선택을 뺀 나머지 조건으로 센다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/search/facets")
+    public SearchFacetResponse searchFacets(@ModelAttribute SearchRequest searchRequest) {
+        return photoService.searchFacets(searchRequest);
+    }
+
+    @Operation(summary = "메인페이지 피드, 커서 기반으로 최신 사진을 불러온다."
+        , description = "created, id 내림차순. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다. COUNT 없이 어느 깊이에서도 같은 비용."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 와 ETag 가 같음)"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/feed/all")
+    public CursorPage<PhotoResponse> findAllFeed(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "15") int size,
+                                                 @AuthenticationPrincipal AuthUser viewer,
+                                                 WebRequest webRequest) {
+        if (feedNotModified(webRequest, viewer)) {
+            return null;
+        }
+        return photoService.findAllFeed(cursor, size, AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "gender를 기준으로 커서 기반 피드를 불러온다."
+        , description = "gender를 기준으로 커서 기반 피드를 불러온다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 와 ETag 가 같음)"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/feed/gender/{gender}")
+    public CursorPage<PhotoResponse> findByGenderFeed(@PathVariable("gender") String gender,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "15") int size,
+                                                      @AuthenticationPrincipal AuthUser viewer,
+                                                      WebRequest webRequest) {
+        if (feedNotModified(webRequest, viewer)) {
+            return null;
+        }
+        return photoService.findByGenderFeed(gender, cursor, size, AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "hairSalon을 기준으로 커서 기반 피드를 불러온다."
+        , description = "hairSalon을 기준으로 커서 기반 피드를 불러온다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/feed/hairSalon/{hairSalon}")
+    public CursorPage<PhotoResponse> findByHairSalonFeed(@PathVariable("hairSalon") String hairSalon,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "15") int size,
+                                                         @AuthenticationPrincipal AuthUser viewer) {
+        return photoService.findByHairSalonFeed(hairSalon, cursor, size, AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "인기 급상승 사진을 불러온다."
+        , description = "최근 좋아요/댓글이 많은 순. 오래된 반응일수록 적게 반영된다. gender 를 넘기면 해당 성별 순위, size 는 최대 100."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/trending")
+    public List<PhotoResponse> findTrending(@RequestParam(required = false) String gender,
+                                            @RequestParam(defaultValue = "20") int size,
+                                            @AuthenticationPrincipal AuthUser viewer) {
+        return photoService.findTrending(gender, size, AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "좌표 주변 radiusKm 안의 사진을 최신순으로 불러온다."
+        , description = "미용실 좌표가 있는 사진만 나온다. radiusKm 는 최대 50. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘긴다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "304", description = "변경 없음 (If-None-Match 와 ETag 가 같음)"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/nearby")
+    public CursorPage<PhotoResponse> findNearby(@RequestParam("latitude") Double latitude,
+                                                @RequestParam("longitude") Double longitude,
+                                                @RequestParam(defaultValue = "3") double radiusKm,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "15") int size,
+                                                @AuthenticationPrincipal AuthUser viewer,
+                                                WebRequest webRequest) {
+        if (feedNotModified(webRequest, viewer)) {
+            return null;
+        }
+        return photoService.findNearby(latitude, longitude, radiusKm, cursor, size, AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "SearchRequest를 받아 커서 기반 피드를 불러온다."
+        , description = "SearchRequest를 받아 커서 기반 피드를 불러온다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/feed/search")
+    public CursorPage<PhotoResponse> searchFeed(@ModelAttribute SearchRequest searchRequest,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "15") int size,
+                                                @AuthenticationPrincipal AuthUser viewer) {
+        return photoService.searchFeed(searchRequest, cursor, size, AuthUser.idOf(viewer));
+    }
+
+    /**
+     * 피드 버전이 클라이언트의 If-None-Match 와 같으면 304 를 설정합니다. 페이지/정렬은 URL 에 들어 있으므로 ETag 에 넣지 않습니다.
+     * ETag 를 끈 배포(photo.etag.enabled=false)에서는 항상 false 입니다.
+     */
+    private boolean feedNotModified(WebRequest webRequest, AuthUser viewer) {
+        if (!contentVersions.isEnabled()) {
+            return false;
+        }
+        String etag = ContentVersions.etag("feed", contentVersions.feedVersion(), AuthUser.idOf(viewer));
+        return webRequest.checkNotModified(etag);
     }
 }
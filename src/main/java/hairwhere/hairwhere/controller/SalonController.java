@@ -0,0 +1,49 @@
+package hairwhere.hairwhere.controller;
+
+import hairwhere.hairwhere.dto.AuthUser;
+import hairwhere.hairwhere.dto.SalonResponse;
+import hairwhere.hairwhere.service.SalonDirectory;
+import hairwhere.hairwhere.service.SalonService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("salon")
+@RequiredArgsConstructor
+public class SalonController {
+
+    private final SalonService salonService;
+
+    @Operation(summary = "인기순 미용실 목록"
+        , description = "사진 좋아요 합, 사진 수 순으로 미용실을 불러온다. 미용실마다 사진 수, 좋아요 합, 많이 올라온 스타일, 최근 사진을 포함한다. size 는 1~100 으로 맞춘다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/popular")
+    public Page<SalonResponse> findPopularSalons(@RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size,
+                                                 @AuthenticationPrincipal AuthUser viewer) {
+        int pageSize = Math.min(Math.max(size, 1), SalonDirectory.MAX_PAGE_SIZE);
+        return salonService.findPopularSalons(PageRequest.of(Math.max(page, 0), pageSize), AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "hairSalon 미용실 페이지"
+        , description = "사진 수, 좋아요 합, 많이 올라온 스타일, 최근 사진을 불러온다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("/{hairSalon}")
+    public SalonResponse findSalon(@PathVariable("hairSalon") String hairSalon,
+                                   @AuthenticationPrincipal AuthUser viewer) {
+        return salonService.findSalon(hairSalon, AuthUser.idOf(viewer));
+    }
+}
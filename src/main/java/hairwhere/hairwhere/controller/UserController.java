@@ -1,9 +1,11 @@
 package hairwhere.hairwhere.controller;
 
-import hairwhere.hairwhere.domain.Like;
 import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.AuthUser;
+import hairwhere.hairwhere.dto.CursorPage;
 import hairwhere.hairwhere.dto.KakaoUserRequest;
 import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.dto.PhotoSort;
 import hairwhere.hairwhere.repository.UserRepository;
 import hairwhere.hairwhere.service.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,6 +18,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -31,6 +34,7 @@ import org.slf4j.Logger;
 public class UserController {
 
     private final KakaoService kakaoService;
+    private final JwtService jwtService;
     private final LikeService likeService;
     private final PhotoService photoService;
     private final UserRepository userRepository;
@@ -106,6 +110,30 @@ public class UserController {
         return ResponseEntity.ok(accessToken);
     }
 
+    @Operation(summary = "code로 로그인하고 서비스 JWT를 받습니다."
+        , description = "카카오 인가 code로 로그인(필요하면 회원가입)하고, 이후 요청의 Authorization 헤더에 사용할 JWT를 발급합니다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping("/login")
+    public ResponseEntity<TokenResponse> login(@RequestParam String code) {
+        return ResponseEntity.ok(new TokenResponse(kakaoService.processKakaoLogin(code)));
+    }
+
+    @Operation(summary = "카카오 access token을 서비스 JWT로 교환합니다."
+        , description = "카카오 SDK로 받은 access token을 확인하고 서비스 JWT를 발급합니다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping("/token")
+    public ResponseEntity<TokenResponse> exchangeToken(@RequestHeader("Authorization") String token) {
+        return ResponseEntity.ok(new TokenResponse(kakaoService.issueToken(token)));
+    }
+
     @Operation(summary = "accesstoken을 이용해 유저 정보를 받습니다"
         , description = "accesstoken을 이용해 유저 정보를 받습니다"
         , responses = {
@@ -119,16 +147,23 @@ public class UserController {
         return ResponseEntity.ok(userInfo);
     }
 
-    @Operation(summary = "logout 서버에서 특별한 처리 없음"
-        , description = "logout 서버에서 특별한 처리 없음"
+    @Operation(summary = "logout"
+        , description = "서비스 JWT 는 만료 시각까지 거절하도록 폐기하고, 카카오 액세스 토큰은 캐시에서 지웁니다."
         , responses = {
         @ApiResponse(responseCode = "200", description = "성공"),
         @ApiResponse(responseCode = "400", description = "잘못된 요청"),
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @PostMapping("/logout")
-    public ResponseEntity<String> logout() {
-        // 서버 측에서는 특별한 처리 없음
+    public ResponseEntity<String> logout(@RequestHeader(value = "Authorization", required = false) String token) {
+        if (token != null && !token.isBlank()) {
+            String value = token.startsWith("Bearer ") ? token.substring(7) : token;
+            if (jwtService.isJwt(value)) {
+                jwtService.revoke(value);
+            } else {
+                kakaoService.evictToken(value);
+            }
+        }
         return ResponseEntity.ok("로그아웃 성공");
     }
 
@@ -140,10 +175,10 @@ public class UserController {
         @ApiResponse(responseCode = "500", description = "서버 오류")
     })
     @GetMapping("/mypage")
-    public ResponseEntity<User> getMyPage(@RequestHeader("Authorization") String token) {
-        User user = kakaoService.kakaoUserRequestToUser(kakaoService.getKakaoUserInfo(token));
-
-        return ResponseEntity.ok(user);
+    public ResponseEntity<User> getMyPage(@AuthenticationPrincipal AuthUser authUser) {
+        return userRepository.findById(authUser.getId())
+            .map(ResponseEntity::ok)
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     @Operation(summary = "token을 사용해 본인이 좋아요한 페이지들을 받습니다."
@@ -158,17 +193,14 @@ public class UserController {
                                              @RequestParam(defaultValue = "15") int size,
                                              @RequestParam(defaultValue = "created") String sortBy,
                                              @RequestParam(defaultValue = "desc") String sortOrder,
-                                             @RequestHeader("Authorization") String token) {
+                                             @AuthenticationPrincipal AuthUser authUser) {
 
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        User user = kakaoService.kakaoUserRequestToUser(kakaoService.getKakaoUserInfo(token));
-
-        List<Like> likes = likeService.findByUser(user);//user를 기준으로 좋아요한 게시글들 찾기
-
-        return photoService.findLikedPhotosByUser(likes, pageable);
+        //user를 기준으로 좋아요한 게시글들 찾기
+        return photoService.findLikedPhotosByUser(authUser.getId(), pageable);
     }
 
     @Operation(summary = "kakaoId를 받아 user의 페이지들을 받습니다."
@@ -183,12 +215,28 @@ public class UserController {
                                               @RequestParam(defaultValue = "15") int size,
                                               @RequestParam(defaultValue = "created") String sortBy,
                                               @RequestParam(defaultValue = "desc") String sortOrder,
-                                              @PathVariable Long kakaoId) {
-        Sort sort = Sort.by(Sort.Order.by(sortBy).with(Sort.Direction.fromString(sortOrder)));
+                                              @PathVariable Long kakaoId,
+                                              @AuthenticationPrincipal AuthUser viewer) {
+        Sort sort = PhotoSort.toSort(sortBy, sortOrder);
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        return photoService.findByKakaoId(kakaoId, pageable);
+        return photoService.findByKakaoId(kakaoId, pageable, AuthUser.idOf(viewer));
+    }
+
+    @Operation(summary = "kakaoId를 받아 user의 사진들을 커서 기반으로 받습니다."
+        , description = "kakaoId를 받아 user의 사진들을 커서 기반으로 받습니다. 다음 페이지는 nextCursor 를 cursor 로 넘긴다."
+        , responses = {
+        @ApiResponse(responseCode = "200", description = "성공"),
+        @ApiResponse(responseCode = "400", description = "잘못된 요청"),
+        @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @GetMapping("feed/{kakaoId}/photos")
+    public CursorPage<PhotoResponse> findUserPhotosFeed(@PathVariable Long kakaoId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "15") int size,
+                                                        @AuthenticationPrincipal AuthUser viewer) {
+        return photoService.findByKakaoIdFeed(kakaoId, cursor, size, AuthUser.idOf(viewer));
     }
 
     @Operation(summary = "kakaoId를 받아 해당 유저의 정보를 받습니다."
@@ -0,0 +1,55 @@
+package hairwhere.hairwhere.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 지워야 할 GCS 이미지(outbox).
+ * 사진을 삭제하는 트랜잭션에서 함께 저장하므로, 롤백되면 이미지도 지워지지 않고 커밋되면 반드시 언젠가 지워진다.
+ * 실제 삭제는 BlobDeletionWorker 가 배치로 처리한다.
+ */
+@Entity
+@Table(name = "blob_deletion", indexes = {
+    @Index(name = "idx_blob_deletion_next_attempt", columnList = "next_attempt_at, id")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class BlobDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Photo.photoImagePath 의 공개 URL
+    @Column(nullable = false, length = 1024)
+    private String imagePath;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public BlobDeletion(String imagePath, LocalDateTime now) {
+        this.imagePath = imagePath;
+        this.nextAttemptAt = now;
+        this.createdAt = now;
+    }
+
+    /**
+     * 삭제에 실패했습니다. retryAt 이후에 다시 시도합니다.
+     */
+    public void failed(String error, LocalDateTime retryAt) {
+        this.attempts++;
+        this.lastError = error == null || error.length() <= 500 ? error : error.substring(0, 500);
+        this.nextAttemptAt = retryAt;
+    }
+}
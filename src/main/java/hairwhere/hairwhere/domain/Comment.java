@@ -10,7 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "comment")
+@Table(name = "comment", indexes = {
+    // 사진별 최상위 댓글/답글 커서 페이지
+    @Index(name = "idx_comment_photo_parent_created", columnList = "photo_id, parent_id, created_at")
+})
 @Setter
 @Getter
 public class Comment {
@@ -0,0 +1,136 @@
+package hairwhere.hairwhere.domain;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * geohash 인코딩과 반경 검색용 셀 계산.
+ * 가까운 좌표는 같은 접두사를 가지므로, 반경을 덮는 몇 개의 접두사로 인덱스 범위 검색을 할 수 있다.
+ */
+public final class GeoHash {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    // Photo.geohash 에 저장하는 길이. 셀 크기 약 5m
+    public static final int STORED_PRECISION = 9;
+
+    private GeoHash() {
+    }
+
+    public static String encode(GeoPoint point, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int value = 0;
+
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (point.getLongitude() >= mid) {
+                    value = value << 1 | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (point.getLatitude() >= mid) {
+                    value = value << 1 | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * center 에서 radiusKm 안의 좌표를 모두 포함하는 검색 영역.
+     * 셀 한 변이 반경 이상인 가장 긴 접두사를 고르면 반경의 외접 사각형은 축마다 셀 3개 안에 들어가고,
+     * 사각형의 양 끝과 중심 좌표(3 x 3)가 속한 셀이 그 셀들을 모두 덮는다.
+     */
+    public static Area area(GeoPoint center, double radiusKm) {
+        double latDelta = radiusKm / GeoPoint.kmPerDegree();
+        double minLat = Math.max(-90, center.getLatitude() - latDelta);
+        double maxLat = Math.min(90, center.getLatitude() + latDelta);
+
+        // 경도 1도의 거리는 극에 가까울수록 짧아지므로 사각형에서 가장 극에 가까운 위도로 계산한다.
+        double cosLat = Math.cos(Math.toRadians(Math.max(Math.abs(minLat), Math.abs(maxLat))));
+        double lonDelta = cosLat <= 0 ? 180 : Math.min(180, latDelta / cosLat);
+
+        int precision = precisionFor(radiusKm, cosLat);
+        Set<String> prefixes = new LinkedHashSet<>();
+        for (double lat : new double[]{minLat, center.getLatitude(), maxLat}) {
+            for (double lon : new double[]{center.getLongitude() - lonDelta, center.getLongitude(), center.getLongitude() + lonDelta}) {
+                prefixes.add(encode(GeoPoint.of(lat, wrapLongitude(lon)), precision));
+            }
+        }
+
+        double minLon = center.getLongitude() - lonDelta;
+        double maxLon = center.getLongitude() + lonDelta;
+        // 날짜 변경선을 넘으면 경도 범위로는 거르지 않는다.
+        boolean wraps = minLon < -180 || maxLon > 180;
+        return new Area(new ArrayList<>(prefixes), minLat, maxLat,
+            wraps ? -180 : minLon, wraps ? 180 : maxLon);
+    }
+
+    // 셀의 세로/가로가 모두 반경 이상인 가장 긴 접두사 길이
+    private static int precisionFor(double radiusKm, double cosLat) {
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            int lonBits = (5 * precision + 1) / 2;
+            int latBits = 5 * precision / 2;
+            double heightKm = 180 / Math.pow(2, latBits) * GeoPoint.kmPerDegree();
+            double widthKm = 360 / Math.pow(2, lonBits) * GeoPoint.kmPerDegree() * cosLat;
+            if (heightKm >= radiusKm && widthKm >= radiusKm) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+
+    /**
+     * 반경 검색 영역. prefixes 로 인덱스를 찾고, 외접 사각형으로 한 번 더 거른다.
+     */
+    @Getter
+    public static class Area {
+        private final List<String> prefixes;
+        private final double minLatitude;
+        private final double maxLatitude;
+        private final double minLongitude;
+        private final double maxLongitude;
+
+        Area(List<String> prefixes, double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            this.prefixes = prefixes;
+            this.minLatitude = minLatitude;
+            this.maxLatitude = maxLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLongitude = maxLongitude;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package hairwhere.hairwhere.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 위도/경도 좌표 (WGS84, 도 단위).
+ */
+@Getter
+@EqualsAndHashCode
+public final class GeoPoint {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double latitude;
+    private final double longitude;
+
+    private GeoPoint(double latitude, double longitude) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * 좌표를 검증해서 만듭니다. 둘 중 하나라도 없거나 범위를 벗어나면 IllegalArgumentException.
+     */
+    public static GeoPoint of(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("위도와 경도를 함께 입력해야 합니다.");
+        }
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("잘못된 좌표입니다.");
+        }
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * 두 좌표 사이의 대원 거리(km, haversine).
+     */
+    public double distanceKm(double latitude, double longitude) {
+        double dLat = Math.toRadians(latitude - this.latitude);
+        double dLon = Math.toRadians(longitude - this.longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(this.latitude)) * Math.cos(Math.toRadians(latitude))
+            * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * 위도 1도의 거리(km). 경도 1도는 여기에 cos(위도)를 곱한 값이다.
+     */
+    static double kmPerDegree() {
+        return Math.PI * EARTH_RADIUS_KM / 180;
+    }
+}
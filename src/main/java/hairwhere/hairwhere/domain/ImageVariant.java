@@ -0,0 +1,31 @@
+package hairwhere.hairwhere.domain;
+
+/**
+ * 업로드 시 원본 옆에 함께 저장하는 축소 이미지 종류.
+ * 원본 오브젝트 이름 뒤에 suffix 를 붙인 이름으로 저장하므로 경로는 원본 경로에서 바로 계산된다.
+ */
+public enum ImageVariant {
+    THUMBNAIL("_thumb.jpg", 320),
+    MEDIUM("_medium.jpg", 1080);
+
+    private final String suffix;
+    // 긴 변 기준 최대 픽셀
+    private final int maxEdge;
+
+    ImageVariant(String suffix, int maxEdge) {
+        this.suffix = suffix;
+        this.maxEdge = maxEdge;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    public String pathOf(String originalPath) {
+        return originalPath + suffix;
+    }
+}
@@ -6,7 +6,10 @@ import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "likes")
+@Table(name = "likes", uniqueConstraints = {
+    // 한 사용자는 한 사진에 한 번만 좋아요할 수 있다. 동시 요청의 중복 INSERT 도 DB 가 막는다.
+    @UniqueConstraint(name = "uk_likes_user_photo", columnNames = {"user_id", "photo_id"})
+})
 @AllArgsConstructor
 @NoArgsConstructor(access = AccessLevel.PUBLIC)
 public class Like {
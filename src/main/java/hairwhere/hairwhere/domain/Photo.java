@@ -9,6 +9,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// 목록 조회는 (조건 컬럼, created) 순으로 찾고 정렬까지 인덱스로 끝낸다. 허용하는 정렬은 dto.PhotoSort
+@Table(indexes = {
+    @Index(name = "idx_photo_created_id", columnList = "created, photo_id"),
+    @Index(name = "idx_photo_like_count_id", columnList = "like_count, photo_id"),
+    @Index(name = "idx_photo_gender_created", columnList = "gender, created"),
+    @Index(name = "idx_photo_hair_salon_created", columnList = "hairSalon, created"),
+    @Index(name = "idx_photo_hair_salon_address_created", columnList = "hairSalonAddress, created"),
+    @Index(name = "idx_photo_kakao_id_created", columnList = "kakaoId, created"),
+    // 검색에서 자주 쓰는 조합
+    @Index(name = "idx_photo_hair_name_created", columnList = "hair_name, created"),
+    @Index(name = "idx_photo_gender_hair_color_created", columnList = "gender, hairColor, created"),
+    @Index(name = "idx_photo_gender_hair_length_created", columnList = "gender, hairLength, created"),
+    // 주변 검색은 geohash 접두사 범위로 찾는다.
+    @Index(name = "idx_photo_geohash_created", columnList = "geohash, created")
+})
 @Getter
 @Builder
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -28,13 +43,21 @@ public class Photo {
     @Column(name = "nickname")
     private String nickname;
 
+    // 첫 이미지가 피드 썸네일이므로 올린 순서를 image_order 로 저장한다.
     @ElementCollection
     @CollectionTable(name = "photo_image_paths", joinColumns = @JoinColumn(name = "photo_id"))
+    @OrderColumn(name = "image_order")
     @Column(name = "photo_imagePath")
     @Builder.Default
     private List<String> photoImagePath = new ArrayList<>();
 
-    @Column(name = "like_count")
+    // 업로드 시 ImageVariant 축소본을 함께 저장했는지. 예전 사진은 false 이고 원본 경로를 그대로 쓴다.
+    @Column(name = "image_variants")
+    private boolean imageVariants;
+
+    // 좋아요 수는 LikeCountBuffer 가 증감 UPDATE 로만 바꾼다.
+    // 엔티티 UPDATE 에 포함되면 메모리의 옛 값이 아직 반영 안 된 증감을 덮어쓴다.
+    @Column(name = "like_count", updatable = false)
     @Builder.Default
     private int likeCount = DEFAULT_LIKE_NUM;
 
@@ -56,6 +79,16 @@ public class Photo {
     @Column(name = "hairSalonAddress")
     private String hairSalonAddress;
 
+    // 미용실 좌표. 업로드 시 받은 좌표나 Geocoder 로 찾은 좌표이고, 모르면 null
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "geohash", length = GeoHash.STORED_PRECISION)
+    private String geohash;
+
     @Column(name = "hairLength")
     private String hairLength;
 
@@ -77,21 +110,23 @@ public class Photo {
     @JsonIgnore
     private User user;
 
-    public void increaseLikeCount() {
-        this.likeCount++;
-    }
-
-    public void decreaseLikeCount() {
-        this.likeCount--;
+    /**
+     * 좌표와 geohash 를 함께 바꿉니다. null 이면 위치 정보를 지웁니다.
+     */
+    public void locateAt(GeoPoint point) {
+        this.latitude = point == null ? null : point.getLatitude();
+        this.longitude = point == null ? null : point.getLongitude();
+        this.geohash = point == null ? null : GeoHash.encode(point, GeoHash.STORED_PRECISION);
     }
 
-    public Photo(Long id, Long kakaoId,String nickname, List<String> photoImagePath, int likeCount, String hairName, String
-        text, String gender, LocalDateTime created, String hairSalon, String hairSalonAddress, String
-                     hairLength, String hairColor, List<Comment> comments, List<Like> likes, User user) {
+    public Photo(Long id, Long kakaoId,String nickname, List<String> photoImagePath, boolean imageVariants, int likeCount, String hairName, String
+        text, String gender, LocalDateTime created, String hairSalon, String hairSalonAddress, Double latitude,
+                 Double longitude, String geohash, String hairLength, String hairColor, List<Comment> comments, List<Like> likes, User user) {
         this.id = id;
         this.kakaoId = kakaoId;
         this.nickname = nickname;
         this.photoImagePath = photoImagePath;
+        this.imageVariants = imageVariants;
         this.likeCount = likeCount;
         this.hairName = hairName;
         this.text = text;
@@ -99,6 +134,9 @@ public class Photo {
         this.created = created;
         this.hairSalon = hairSalon;
         this.hairSalonAddress = hairSalonAddress;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.geohash = geohash;
         this.hairLength = hairLength;
         this.hairColor = hairColor;
         this.comments = comments;
@@ -0,0 +1,34 @@
+package hairwhere.hairwhere.dto;
+
+import hairwhere.hairwhere.domain.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 인증 필터가 SecurityContext 에 넣어두는 로그인 사용자 정보.
+ * JWT 클레임만으로 만들어지므로 DB 나 카카오 API 를 거치지 않는다.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthUser {
+    private Long id;
+    private Long kakaoId;
+    private String nickName;
+    private String profileImageUrl;
+
+    // 비로그인 요청이면 null
+    public static Long idOf(AuthUser authUser) {
+        return authUser == null ? null : authUser.getId();
+    }
+
+    public static AuthUser from(User user) {
+        return new AuthUser(user.getId(), user.getKakaoId(), user.getNickName(), user.getProfileImageUrl());
+    }
+
+    // id 만 채워진 User 로, 연관관계 설정(FK)에는 이것으로 충분하다.
+    public User toUser() {
+        User user = new User(kakaoId, nickName, profileImageUrl);
+        user.setId(id);
+        return user;
+    }
+}
@@ -19,6 +19,8 @@ public class CommentResponse {
     private Long photoId;
     private Long parentId;
     private List<CommentResponse> replies = new ArrayList<>();
+    // 바로 아래 답글 수. 깊이 제한으로 replies 를 채우지 않은 댓글도 답글이 몇 개인지 알 수 있다.
+    private int replyCount;
 
     @Getter
     @Setter
@@ -54,6 +56,7 @@ public class CommentResponse {
             response.setReplies(comment.getReplies().stream()
                 .map(CommentResponse::from)
                 .collect(Collectors.toList()));
+            response.setReplyCount(response.getReplies().size());
         }
 
         return response;
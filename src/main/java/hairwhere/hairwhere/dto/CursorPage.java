@@ -0,0 +1,30 @@
+package hairwhere.hairwhere.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답. COUNT 쿼리 없이 다음 페이지가 있는지만 알려준다.
+ * nextCursor 를 그대로 다음 요청의 cursor 로 넘기면 된다.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * size + 1 개를 조회한 결과로 페이지를 만든다. 초과분이 있으면 다음 페이지가 있는 것이다.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null, false);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, cursorOf.apply(items.get(size - 1)), true);
+    }
+}
@@ -0,0 +1,49 @@
+package hairwhere.hairwhere.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 피드 커서. 마지막으로 받은 사진의 (created, id) 를 불투명한 문자열로 감싼다.
+ * 다음 페이지는 이 위치 이후(더 오래된 사진)부터 seek 하므로 OFFSET 스캔과 COUNT 가 필요 없다.
+ * 댓글 페이지도 같은 형식으로 (createdAt, id) 를 담는다.
+ */
+@Getter
+@AllArgsConstructor
+public class FeedCursor {
+    private LocalDateTime created;
+    private Long id;
+
+    public String encode() {
+        String raw = created + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 첫 페이지(null 또는 빈 문자열)면 null 을 반환한다.
+     * 클라이언트가 만든 값이므로 형식이 틀리면 400 으로 응답한다.
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.");
+        }
+    }
+
+    public static FeedCursor of(PhotoResponse photo) {
+        return new FeedCursor(photo.getCreated(), photo.getId());
+    }
+}
@@ -0,0 +1,23 @@
+package hairwhere.hairwhere.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 카카오 로컬 주소 검색 응답. 좌표만 사용한다.
+ */
+@Getter
+@NoArgsConstructor
+public class KakaoAddressResponse {
+    private List<Document> documents;
+
+    @Getter
+    @NoArgsConstructor
+    public static class Document {
+        private String address_name;
+        private String x; // 경도
+        private String y; // 위도
+    }
+}
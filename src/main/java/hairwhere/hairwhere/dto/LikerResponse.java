@@ -0,0 +1,19 @@
+package hairwhere.hairwhere.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 사진에 좋아요한 사용자 한 명. 커서 계산을 위해 like id 를 함께 들고 있다.
+ */
+@Getter
+@AllArgsConstructor
+public class LikerResponse {
+    @JsonIgnore
+    private Long likeId;
+    private Long id;
+    private Long kakaoId;
+    private String nickName;
+    private String profileImageUrl;
+}
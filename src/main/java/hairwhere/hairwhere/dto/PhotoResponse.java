@@ -1,5 +1,6 @@
 package hairwhere.hairwhere.dto;
 
+import hairwhere.hairwhere.domain.ImageVariant;
 import hairwhere.hairwhere.domain.Photo;
 import lombok.Getter;
 import lombok.Setter;
@@ -15,6 +16,9 @@ public class PhotoResponse {
     private Long id;
     private String nickname;
     private List<String> photoImagePath;
+    // 피드 그리드용 썸네일 / 상세 화면용 중간 크기. 축소본이 없는 예전 사진은 원본 경로
+    private List<String> thumbnailImagePath;
+    private List<String> mediumImagePath;
     private int likeCount;
     private String hairName;
     private String text;
@@ -22,20 +26,53 @@ public class PhotoResponse {
     private LocalDateTime created;
     private String hairSalon;
     private String hairSalonAddress;
+    // 미용실 좌표. 모르면 null
+    private Double latitude;
+    private Double longitude;
     private String hairLength;
     private String hairColor;
 
     // User 엔티티 대신 필요한 정보만 포함
     private Long kakaoId;
     private String userProfilePath;
+    // 좋아요한 사용자 닉네임 미리보기 (최대 LIKER_PREVIEW_SIZE 명). 전체 목록은 /photo/find/{id}/likes
     private List<String> likedNickNames;
+    // 요청한 사용자가 이 사진에 좋아요를 눌렀는지 (비로그인이면 false)
+    private boolean viewerHasLiked;
+
+    public static final int LIKER_PREVIEW_SIZE = 3;
 
     public static PhotoResponse fromEntity(Photo photo) {
+        PhotoResponse response = of(photo, photo.getPhotoImagePath());
+
+        // User 정보 설정
+        if (photo.getUser() != null) {
+            response.setKakaoId(photo.getUser().getKakaoId());
+            response.setUserProfilePath(photo.getUser().getProfileImageUrl());
+        }
+
+        // 좋아요 한 사용자 이름 목록
+        List<String> likedUserNames = photo.getLikes().stream()
+            .limit(LIKER_PREVIEW_SIZE)
+            .map(like -> like.getUser().getNickName())
+            .collect(Collectors.toList());
+        response.setLikedNickNames(likedUserNames);
+
+        return response;
+    }
+
+    /**
+     * Photo 의 컬럼 값만 복사한다. 연관관계(이미지 경로 제외)는 건드리지 않으므로 지연 로딩이 일어나지 않는다.
+     * 작성자/좋아요 정보는 호출하는 쪽에서 배치로 조회해 채운다.
+     */
+    public static PhotoResponse of(Photo photo, List<String> photoImagePath) {
         PhotoResponse response = new PhotoResponse();
 
         response.setId(photo.getId());
         response.setNickname(photo.getNickname());
-        response.setPhotoImagePath(photo.getPhotoImagePath());
+        response.setPhotoImagePath(photoImagePath);
+        response.setThumbnailImagePath(variantPaths(photo, photoImagePath, ImageVariant.THUMBNAIL));
+        response.setMediumImagePath(variantPaths(photo, photoImagePath, ImageVariant.MEDIUM));
         response.setLikeCount(photo.getLikeCount());
         response.setHairName(photo.getHairName());
         response.setText(photo.getText());
@@ -43,21 +80,48 @@ public class PhotoResponse {
         response.setCreated(photo.getCreated());
         response.setHairSalon(photo.getHairSalon());
         response.setHairSalonAddress(photo.getHairSalonAddress());
+        response.setLatitude(photo.getLatitude());
+        response.setLongitude(photo.getLongitude());
         response.setHairLength(photo.getHairLength());
         response.setHairColor(photo.getHairColor());
 
-        // User 정보 설정
-        if (photo.getUser() != null) {
-            response.setKakaoId(photo.getUser().getKakaoId());
-            response.setUserProfilePath(photo.getUser().getProfileImageUrl());
-        }
+        return response;
+    }
 
-        // 좋아요 한 사용자 이름 목록
-        List<String> likedUserNames = photo.getLikes().stream()
-            .map(like -> like.getUser().getNickName())
-            .collect(Collectors.toList());
-        response.setLikedNickNames(likedUserNames);
+    /**
+     * 캐시에 둔 응답을 요청마다 고칠 수 있도록 복사한다. 목록 필드는 바꾸지 않으므로 공유한다.
+     */
+    public PhotoResponse copy() {
+        PhotoResponse copy = new PhotoResponse();
+        copy.setId(id);
+        copy.setNickname(nickname);
+        copy.setPhotoImagePath(photoImagePath);
+        copy.setThumbnailImagePath(thumbnailImagePath);
+        copy.setMediumImagePath(mediumImagePath);
+        copy.setLikeCount(likeCount);
+        copy.setHairName(hairName);
+        copy.setText(text);
+        copy.setGender(gender);
+        copy.setCreated(created);
+        copy.setHairSalon(hairSalon);
+        copy.setHairSalonAddress(hairSalonAddress);
+        copy.setLatitude(latitude);
+        copy.setLongitude(longitude);
+        copy.setHairLength(hairLength);
+        copy.setHairColor(hairColor);
+        copy.setKakaoId(kakaoId);
+        copy.setUserProfilePath(userProfilePath);
+        copy.setLikedNickNames(likedNickNames);
+        copy.setViewerHasLiked(viewerHasLiked);
+        return copy;
+    }
 
-        return response;
+    private static List<String> variantPaths(Photo photo, List<String> photoImagePath, ImageVariant variant) {
+        if (!photo.isImageVariants()) {
+            return photoImagePath;
+        }
+        return photoImagePath.stream()
+            .map(variant::pathOf)
+            .collect(Collectors.toList());
     }
 }
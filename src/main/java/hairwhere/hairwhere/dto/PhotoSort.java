@@ -0,0 +1,45 @@
+package hairwhere.hairwhere.dto;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 사진 목록에 허용하는 정렬. 아무 필드로나 정렬하면 인덱스를 못 타고 filesort 가 되므로 아래만 받는다.
+ * 같은 값끼리의 순서가 페이지마다 바뀌지 않도록 id 를 같은 방향으로 덧붙인다.
+ */
+public enum PhotoSort {
+    // idx_photo_created_id 와 (조건 컬럼, created) 복합 인덱스
+    CREATED("created"),
+    // idx_photo_like_count_id
+    LIKE_COUNT("likeCount");
+
+    private final String property;
+
+    PhotoSort(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public static PhotoSort from(String sortBy) {
+        for (PhotoSort sort : values()) {
+            if (sort.property.equalsIgnoreCase(sortBy)) {
+                return sort;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 정렬입니다: " + sortBy);
+    }
+
+    /**
+     * 요청 파라미터(sortBy, sortOrder)를 허용된 Sort 로 바꿉니다. 허용하지 않는 값이면 400 입니다.
+     */
+    public static Sort toSort(String sortBy, String sortOrder) {
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sortOrder)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "지원하지 않는 정렬 방향입니다: " + sortOrder));
+        return Sort.by(direction, from(sortBy).property)
+            .and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,21 @@
+package hairwhere.hairwhere.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 미용실 페이지/목록 응답.
+ */
+@Getter
+@AllArgsConstructor
+public class SalonResponse {
+    private String hairSalon;
+    private int photoCount;
+    // 미용실 사진들의 좋아요 합
+    private long likeCount;
+    // 많이 올라온 hairName 순 (최대 SalonDirectory.TOP_STYLES 개)
+    private List<String> topStyles;
+    private PhotoResponse latestPhoto;
+}
@@ -0,0 +1,19 @@
+package hairwhere.hairwhere.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 검색 필터 UI 용 속성별 값 개수.
+ * facets 는 속성 이름(hairName, hairLength, hairColor, gender) -> (값 -> 사진 수) 이고 사진 수가 많은 순이다.
+ * 각 속성의 개수는 그 속성 자신의 선택은 빼고 나머지 선택만 적용한 결과라, 같은 속성의 다른 값을 고르면 몇 장이 될지 보여준다.
+ */
+@Getter
+@AllArgsConstructor
+public class SearchFacetResponse {
+    // 현재 선택을 모두 적용한 검색 결과 수
+    private long total;
+    private Map<String, Map<String, Long>> facets;
+}
@@ -1,8 +1,10 @@
 package hairwhere.hairwhere.dto;
 
 import lombok.Getter;
+import lombok.Setter;
 
 @Getter
+@Setter
 public class SearchRequest {
     private String hairName;
     private String hairLength;
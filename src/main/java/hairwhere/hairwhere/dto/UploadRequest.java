@@ -14,6 +14,9 @@ public class UploadRequest {
     private String createdStr;
     private String hairSalon;
     private String hairSalonAddress;
+    // 미용실 좌표(선택). 없으면 hairSalonAddress 로 좌표를 찾는다.
+    private Double latitude;
+    private Double longitude;
     private String hairLength;
     private String hairColor;
     private MultipartFile[] image;
@@ -0,0 +1,19 @@
+package hairwhere.hairwhere.repository;
+
+import hairwhere.hairwhere.domain.BlobDeletion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BlobDeletionRepository extends JpaRepository<BlobDeletion, Long> {
+
+    // 시도할 때가 된 삭제 요청 (오래된 순)
+    @Query("SELECT b FROM BlobDeletion b WHERE b.nextAttemptAt <= :now ORDER BY b.nextAttemptAt, b.id")
+    List<BlobDeletion> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+}
@@ -1,16 +1,80 @@
 package hairwhere.hairwhere.repository;
 
 import hairwhere.hairwhere.domain.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    // 최상위 댓글 조회 (parentId가 null인 경우)
-    List<Comment> findByPhotoIdAndParentIdIsNullOrderByCreatedAtDesc(Long photoId);
 
-    // 특정 댓글의 답글 조회
-    List<Comment> findByPhotoIdAndParentIdOrderByCreatedAtDesc(Long photoId, Long parentId);
+    String THREAD_ROW = "SELECT c.id AS id, c.content AS content, c.createdAt AS createdAt, p.id AS parentId, " +
+        "u.id AS userId, u.kakaoId AS kakaoId, u.nickName AS nickName, u.profileImageUrl AS profileImageUrl " +
+        "FROM Comment c LEFT JOIN c.parent p LEFT JOIN c.user u ";
+
+    // 최상위 댓글 (createdAt, id 내림차순 커서 페이지). idx_comment_photo_parent_created 를 탄다.
+    @Query(THREAD_ROW + "WHERE c.photo.id = :photoId AND c.parent IS NULL ORDER BY c.createdAt DESC, c.id DESC")
+    List<ThreadRowView> findRootRows(@Param("photoId") Long photoId, Pageable pageable);
+
+    @Query(THREAD_ROW + "WHERE c.photo.id = :photoId AND c.parent IS NULL " +
+        "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+        "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ThreadRowView> findRootRowsBefore(@Param("photoId") Long photoId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+
+    // 특정 댓글의 답글 (대화 순서대로 createdAt, id 오름차순 커서 페이지)
+    @Query(THREAD_ROW + "WHERE c.photo.id = :photoId AND p.id = :parentId ORDER BY c.createdAt ASC, c.id ASC")
+    List<ThreadRowView> findReplyRows(@Param("photoId") Long photoId, @Param("parentId") Long parentId, Pageable pageable);
+
+    @Query(THREAD_ROW + "WHERE c.photo.id = :photoId AND p.id = :parentId " +
+        "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+        "ORDER BY c.createdAt ASC, c.id ASC")
+    List<ThreadRowView> findReplyRowsAfter(@Param("photoId") Long photoId, @Param("parentId") Long parentId,
+                                           @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                           Pageable pageable);
+
+    // 한 페이지의 댓글마다 바로 아래 답글 수
+    @Query("SELECT c.parent.id AS parentId, COUNT(c) AS replyCount FROM Comment c " +
+        "WHERE c.parent.id IN :parentIds GROUP BY c.parent.id")
+    List<ReplyCountView> countRepliesByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    // 답글 미리보기: 부모마다 오래된 순으로 limit 개까지
+    // 결과 행: [id, content, created_at, parent_id, user_id, kakao_id, nick_name, profile_image_url]
+    @Query(value = "SELECT ranked.id, ranked.content, ranked.created_at, ranked.parent_id, " +
+        "ranked.user_id, ranked.kakao_id, ranked.nick_name, ranked.profile_image_url FROM (" +
+        "SELECT c.id, c.content, c.created_at, c.parent_id, u.id AS user_id, u.kakao_id, u.nick_name, u.profile_image_url, " +
+        "ROW_NUMBER() OVER (PARTITION BY c.parent_id ORDER BY c.created_at, c.id) AS rn " +
+        "FROM comment c LEFT JOIN user u ON u.id = c.user_id WHERE c.parent_id IN (:parentIds)) ranked " +
+        "WHERE ranked.rn <= :limit ORDER BY ranked.parent_id, ranked.rn", nativeQuery = true)
+    List<Object[]> findReplyPreviewByParentIds(@Param("parentIds") Collection<Long> parentIds, @Param("limit") int limit);
+
+    interface ThreadRowView {
+        Long getId();
+
+        String getContent();
+
+        LocalDateTime getCreatedAt();
+
+        Long getParentId();
+
+        Long getUserId();
+
+        Long getKakaoId();
+
+        String getNickName();
+
+        String getProfileImageUrl();
+    }
+
+    interface ReplyCountView {
+        Long getParentId();
+
+        long getReplyCount();
+    }
 }
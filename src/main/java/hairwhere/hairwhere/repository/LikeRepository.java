@@ -1,11 +1,17 @@
 package hairwhere.hairwhere.repository;
 
 import hairwhere.hairwhere.domain.Like;
+import hairwhere.hairwhere.dto.LikerResponse;
 import hairwhere.hairwhere.domain.Photo;
 import hairwhere.hairwhere.domain.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +22,34 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     List<Like> findByUser(User user);
 
     List<Like> findByPhoto(Photo photo);
+
+    // 이미 (user_id, photo_id) 행이 있으면 아무것도 하지 않는다. 반환값은 실제로 추가된 행 수(0 또는 1).
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO likes (photo_id, user_id) VALUES (:photoId, :userId)", nativeQuery = true)
+    int insertIfAbsent(@Param("photoId") Long photoId, @Param("userId") Long userId);
+
+    // 반환값은 실제로 삭제된 행 수(0 또는 1).
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.photo.id = :photoId AND l.user.id = :userId")
+    int deleteByPhotoIdAndUserId(@Param("photoId") Long photoId, @Param("userId") Long userId);
+
+    long countByPhotoId(Long photoId);
+
+    // 목록 응답용 배치 조회: 사진마다 최근에 좋아요한 사용자 닉네임을 최대 :limit 명까지만 가져온다.
+    // 결과 행: [photo_id, nick_name]
+    @Query(value = "SELECT ranked.photo_id, ranked.nick_name FROM (" +
+        "SELECT l.photo_id, u.nick_name, " +
+        "ROW_NUMBER() OVER (PARTITION BY l.photo_id ORDER BY l.like_id DESC) AS rn " +
+        "FROM likes l JOIN user u ON u.id = l.user_id WHERE l.photo_id IN (:photoIds)) ranked " +
+        "WHERE ranked.rn <= :limit", nativeQuery = true)
+    List<Object[]> findLikerPreviewByPhotoIds(@Param("photoIds") Collection<Long> photoIds, @Param("limit") int limit);
+
+    // 로그인한 사용자가 좋아요한 사진 id (목록 중에서만)
+    @Query("SELECT l.photo.id FROM Like l WHERE l.user.id = :userId AND l.photo.id IN :photoIds")
+    List<Long> findLikedPhotoIds(@Param("userId") Long userId, @Param("photoIds") Collection<Long> photoIds);
+
+    // 좋아요한 사용자 목록 (like id 내림차순 커서 페이지)
+    @Query("SELECT new hairwhere.hairwhere.dto.LikerResponse(l.id, u.id, u.kakaoId, u.nickName, u.profileImageUrl) " +
+        "FROM Like l JOIN l.user u WHERE l.photo.id = :photoId AND l.id < :cursor ORDER BY l.id DESC")
+    List<LikerResponse> findLikers(@Param("photoId") Long photoId, @Param("cursor") Long cursor, Pageable pageable);
 }
@@ -1,18 +1,26 @@
 package hairwhere.hairwhere.repository;
 
 import hairwhere.hairwhere.domain.Photo;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface PhotoRepository extends JpaRepository<Photo, Long> {
+public interface PhotoRepository extends JpaRepository<Photo, Long>, JpaSpecificationExecutor<Photo>,
+    PhotoRepositoryCustom {
     Optional<Photo> findById(long id);
 
     Page<Photo> findByGender(String gender, Pageable pageable);
@@ -27,15 +35,122 @@ public interface PhotoRepository extends JpaRepository<Photo, Long> {
 
     Page<Photo> findByKakaoId(Long kakaoId, Pageable pageable);
 
-    @Query("SELECT p FROM Photo p WHERE " +
-        "(:hairName IS NULL OR :hairName = '' OR p.hairName = :hairName) AND " +
-        "(:hairLength IS NULL OR :hairLength = '' OR p.hairLength = :hairLength) AND " +
-        "(:hairColor IS NULL OR :hairColor = '' OR p.hairColor = :hairColor) AND " +
-        "(:gender IS NULL OR :gender = '' OR p.gender = :gender)")
-    Page<Photo> search(
-        @Param("hairName") String hairName,
-        @Param("hairLength") String hairLength,
-        @Param("hairColor") String hairColor,
-        @Param("gender") String gender,
-        Pageable pageable);
+    // 미용실의 가장 최근 사진 (idx_photo_hair_salon_created)
+    Optional<LatestPhotoView> findFirstByHairSalonOrderByCreatedDescIdDesc(String hairSalon);
+
+    // 좋아요를 반영할 미용실 집계/trending 구분을 찾는다. 사진이 없으면 빈 값
+    @Query("SELECT p.id AS id, p.hairSalon AS hairSalon, p.gender AS gender FROM Photo p WHERE p.id = :photoId")
+    Optional<LikeTargetView> findLikeTargetById(@Param("photoId") Long photoId);
+
+    // 미용실 집계 재구성용. 요청마다가 아니라 SalonDirectory 를 다시 만들 때만 실행한다.
+    @Query("SELECT p.hairSalon AS hairSalon, COUNT(p) AS photoCount, SUM(p.likeCount) AS likeCount " +
+        "FROM Photo p WHERE p.hairSalon IS NOT NULL GROUP BY p.hairSalon")
+    List<SalonTotalsView> sumBySalon();
+
+    @Query("SELECT p.hairSalon AS hairSalon, p.hairName AS hairName, COUNT(p) AS photoCount " +
+        "FROM Photo p WHERE p.hairSalon IS NOT NULL AND p.hairName IS NOT NULL GROUP BY p.hairSalon, p.hairName")
+    List<SalonStyleView> countBySalonAndHairName();
+
+    // 같은 주소로 좌표가 저장된 가장 최근 사진 (idx_photo_hair_salon_address_created)
+    Optional<LocationView> findFirstByHairSalonAddressAndLatitudeIsNotNullOrderByCreatedDesc(String hairSalonAddress);
+
+    // 사용자가 좋아요한 사진 (Like -> Photo 를 하나씩 불러오지 않도록 서브쿼리로 페이지 조회)
+    @Query("SELECT p FROM Photo p WHERE p.id IN (SELECT l.photo.id FROM Like l WHERE l.user.id = :userId)")
+    Page<Photo> findLikedByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // 목록 응답용 배치 조회: 한 페이지의 사진 id 로 이미지 경로와 작성자 정보를 IN 쿼리 한 번씩으로 가져온다.
+    // 이미지 경로는 사진마다 올린 순서(image_order)대로 온다.
+    @Query("SELECT p.id AS photoId, i AS path FROM Photo p JOIN p.photoImagePath i WHERE p.id IN :photoIds " +
+        "ORDER BY p.id, INDEX(i)")
+    List<ImagePathView> findImagePathsByPhotoIds(@Param("photoIds") Collection<Long> photoIds);
+
+    @Query("SELECT p.id AS photoId, u.kakaoId AS kakaoId, u.profileImageUrl AS profileImageUrl " +
+        "FROM Photo p JOIN p.user u WHERE p.id IN :photoIds")
+    List<AuthorView> findAuthorsByPhotoIds(@Param("photoIds") Collection<Long> photoIds);
+
+    // 검색 인덱스 생성용 전체 스캔. 엔티티 대신 필요한 컬럼만 스트리밍으로 읽는다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.hairName AS hairName, p.hairLength AS hairLength, p.hairColor AS hairColor, " +
+        "p.gender AS gender, p.created AS created FROM Photo p")
+    Stream<SearchRowView> streamSearchRows();
+
+    // trending 점수 초기화용. 최근 사진 중 좋아요가 있는 것만 (idx_photo_created_id)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p.id AS id, p.gender AS gender, p.likeCount AS likeCount, p.created AS created " +
+        "FROM Photo p WHERE p.created >= :since AND p.likeCount > 0")
+    Stream<TrendingSeedView> streamTrendingSeeds(@Param("since") LocalDateTime since);
+
+    interface ImagePathView {
+        Long getPhotoId();
+
+        String getPath();
+    }
+
+    interface AuthorView {
+        Long getPhotoId();
+
+        Long getKakaoId();
+
+        String getProfileImageUrl();
+    }
+
+    interface LatestPhotoView {
+        Long getId();
+
+        LocalDateTime getCreated();
+    }
+
+    interface LikeTargetView {
+        Long getId();
+
+        String getHairSalon();
+
+        String getGender();
+    }
+
+    interface TrendingSeedView {
+        Long getId();
+
+        String getGender();
+
+        int getLikeCount();
+
+        LocalDateTime getCreated();
+    }
+
+    interface SalonTotalsView {
+        String getHairSalon();
+
+        Long getPhotoCount();
+
+        Long getLikeCount();
+    }
+
+    interface SalonStyleView {
+        String getHairSalon();
+
+        String getHairName();
+
+        Long getPhotoCount();
+    }
+
+    interface LocationView {
+        Double getLatitude();
+
+        Double getLongitude();
+    }
+
+    interface SearchRowView {
+        Long getId();
+
+        String getHairName();
+
+        String getHairLength();
+
+        String getHairColor();
+
+        String getGender();
+
+        LocalDateTime getCreated();
+    }
 }
@@ -0,0 +1,14 @@
+package hairwhere.hairwhere.repository;
+
+import hairwhere.hairwhere.domain.Photo;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+public interface PhotoRepositoryCustom {
+
+    /**
+     * spec 을 만족하는 사진을 attribute 값별로 세어 많은 순으로 반환한다. null 값은 제외한다.
+     */
+    Map<String, Long> countGroupedBy(String attribute, Specification<Photo> spec);
+}
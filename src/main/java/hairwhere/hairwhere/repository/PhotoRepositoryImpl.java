@@ -0,0 +1,53 @@
+package hairwhere.hairwhere.repository;
+
+import hairwhere.hairwhere.domain.Photo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * PhotoRepository 의 Criteria 기반 구현. Spring Data 가 이름(Impl)으로 찾아 PhotoRepository 에 합친다.
+ */
+public class PhotoRepositoryImpl implements PhotoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<String, Long> countGroupedBy(String attribute, Specification<Photo> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Photo> root = query.from(Photo.class);
+        Path<String> value = root.get(attribute);
+        Expression<Long> count = cb.count(root);
+
+        Predicate where = cb.isNotNull(value);
+        if (spec != null) {
+            Predicate filter = spec.toPredicate(root, query, cb);
+            if (filter != null) {
+                where = cb.and(where, filter);
+            }
+        }
+
+        query.multiselect(value, count)
+            .where(where)
+            .groupBy(value)
+            .orderBy(cb.desc(count));
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, String.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package hairwhere.hairwhere.repository;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.dto.FeedCursor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Photo 조회 조건. 값이 없는 조건은 null 을 반환해 쿼리에서 빠지도록 한다.
+ */
+public final class PhotoSpecifications {
+
+    private PhotoSpecifications() {
+    }
+
+    public static Specification<Photo> equalTo(String attribute, Object value) {
+        if (value == null || (value instanceof String && ((String) value).isEmpty())) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+
+    /**
+     * 값들 중 하나와 같은 사진(OR). 값이 없으면 조건 없음.
+     */
+    public static Specification<Photo> in(String attribute, Collection<?> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        if (values.size() == 1) {
+            return equalTo(attribute, values.iterator().next());
+        }
+        return (root, query, cb) -> root.get(attribute).in(values);
+    }
+
+    /**
+     * 접두사로 시작하는 사진. LIKE 'prefix%' 는 인덱스 범위 검색이 된다.
+     */
+    public static Specification<Photo> startsWith(String attribute, String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(root.get(attribute), prefix + "%");
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Photo> between(String attribute, T from, T to) {
+        return (root, query, cb) -> cb.between(root.<T>get(attribute), from, to);
+    }
+
+    /**
+     * (created, id) 내림차순에서 커서 위치 이후의 사진. 첫 페이지(cursor == null)면 조건 없음.
+     */
+    public static Specification<Photo> after(FeedCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+            cb.lessThan(root.get("created"), cursor.getCreated()),
+            cb.and(
+                cb.equal(root.get("created"), cursor.getCreated()),
+                cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
@@ -0,0 +1,155 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.BlobDeletion;
+import hairwhere.hairwhere.repository.BlobDeletionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * blob_deletion(outbox)에 쌓인 GCS 이미지를 배치로 지운다.
+ * GCS 호출은 트랜잭션 밖에서 하고, 결과만 짧은 트랜잭션으로 반영한다. 지운 요청은 행을 삭제하고,
+ * 실패한 요청은 시도 횟수에 따라 지수적으로 늘어나는 간격(최대 maxBackoff) 뒤에 다시 시도한다.
+ * 여러 인스턴스가 같은 행을 동시에 처리해도 삭제는 멱등이므로 결과는 같다.
+ */
+@Slf4j
+@Component
+public class BlobDeletionWorker {
+
+    private final BlobDeletionRepository blobDeletionRepository;
+    private final GCPStorageService gcpStorageService;
+    private final TransactionTemplate transaction;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Counter deletedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    @Autowired
+    public BlobDeletionWorker(BlobDeletionRepository blobDeletionRepository, GCPStorageService gcpStorageService,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                              // 이미지 하나가 오브젝트 3개(원본 + 축소본)이므로 GCS 배치 한도(100) 안에 들어가도록
+                              @Value("${blob.deletion.batch-size:30}") int batchSize,
+                              @Value("${blob.deletion.initial-backoff-seconds:30}") long initialBackoffSeconds,
+                              @Value("${blob.deletion.max-backoff-seconds:3600}") long maxBackoffSeconds) {
+        this(blobDeletionRepository, gcpStorageService, transactionManager, meterRegistry, Clock.systemDefaultZone(),
+            batchSize, Duration.ofSeconds(initialBackoffSeconds), Duration.ofSeconds(maxBackoffSeconds));
+    }
+
+    BlobDeletionWorker(BlobDeletionRepository blobDeletionRepository, GCPStorageService gcpStorageService,
+                       PlatformTransactionManager transactionManager, MeterRegistry meterRegistry, Clock clock,
+                       int batchSize, Duration initialBackoff, Duration maxBackoff) {
+        this.blobDeletionRepository = blobDeletionRepository;
+        this.gcpStorageService = gcpStorageService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.deletedCounter = meterRegistry.counter("blob.deletion.processed", "result", "deleted");
+        this.failedCounter = meterRegistry.counter("blob.deletion.processed", "result", "failed");
+        this.batchTimer = Timer.builder("blob.deletion.batch")
+            .description("GCS 이미지 배치 삭제 시간")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 사진 삭제 트랜잭션 안에서 호출합니다. 이미지는 커밋된 뒤 워커가 지웁니다.
+     */
+    public void enqueue(List<String> imagePaths) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<BlobDeletion> deletions = new ArrayList<>();
+        for (String imagePath : imagePaths) {
+            deletions.add(new BlobDeletion(imagePath, now));
+        }
+        blobDeletionRepository.saveAll(deletions);
+    }
+
+    /**
+     * 시도할 때가 된 요청을 배치 크기만큼씩, 더 없을 때까지 처리합니다.
+     */
+    @Scheduled(fixedDelayString = "${blob.deletion.interval-ms:5000}")
+    public synchronized void drain() {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<BlobDeletion> due = blobDeletionRepository.findDue(now, PageRequest.of(0, batchSize));
+            if (due.isEmpty()) {
+                return;
+            }
+            process(due);
+            // 마지막 배치가 덜 찼으면 남은 요청이 없다. 실패한 요청은 다음 시각으로 밀렸으므로 다시 읽히지 않는다.
+            if (due.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void process(List<BlobDeletion> due) {
+        List<String> imagePaths = new ArrayList<>();
+        for (BlobDeletion deletion : due) {
+            imagePaths.add(deletion.getImagePath());
+        }
+
+        Set<String> remaining;
+        String error = null;
+        Timer.Sample sample = Timer.start();
+        try {
+            remaining = new HashSet<>(gcpStorageService.deleteImagesFromGCP(imagePaths));
+            if (!remaining.isEmpty()) {
+                error = "삭제 후에도 이미지가 남아 있습니다.";
+            }
+        } catch (RuntimeException e) {
+            remaining = new HashSet<>(imagePaths);
+            error = e.getMessage();
+            log.warn("GCS 이미지 배치 삭제 실패 ({}건): {}", due.size(), error);
+        } finally {
+            sample.stop(batchTimer);
+        }
+
+        Set<String> failed = remaining;
+        String lastError = error;
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Long> deletedIds = new ArrayList<>();
+        List<Long> failedIds = new ArrayList<>();
+        for (BlobDeletion deletion : due) {
+            (failed.contains(deletion.getImagePath()) ? failedIds : deletedIds).add(deletion.getId());
+        }
+
+        transaction.executeWithoutResult(status -> {
+            if (!deletedIds.isEmpty()) {
+                blobDeletionRepository.deleteAllByIdInBatch(deletedIds);
+            }
+            for (BlobDeletion deletion : blobDeletionRepository.findAllById(failedIds)) {
+                deletion.failed(lastError, now.plus(backoff(deletion.getAttempts())));
+            }
+        });
+        deletedCounter.increment(deletedIds.size());
+        failedCounter.increment(failedIds.size());
+    }
+
+    // attempts 번 실패한 뒤의 대기 시간: initialBackoff * 2^attempts, 최대 maxBackoff
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
@@ -0,0 +1,116 @@
+package hairwhere.hairwhere.service;
+
+import java.time.Clock;
+
+/**
+ * 외부 API 호출용 서킷 브레이커.
+ * 최근 windowSize 번의 결과 중 실패 비율이 임계값 이상이면 openMillis 동안 호출을 바로 거절(OPEN)하고,
+ * 그 뒤에는 한 번만 시험 호출(HALF_OPEN)을 보내 성공하면 다시 닫고 실패하면 다시 연다.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int windowSize;
+    private final int failureRateThreshold;
+    private final long openMillis;
+    private final Clock clock;
+
+    // 최근 결과를 원형으로 기록한다. true 가 실패
+    private final boolean[] outcomes;
+    private int recorded;
+    private int next;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    /**
+     * @param failureRateThreshold 퍼센트(1~100)
+     */
+    CircuitBreaker(int windowSize, int failureRateThreshold, long openMillis, Clock clock) {
+        if (windowSize < 1 || failureRateThreshold < 1 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("잘못된 서킷 브레이커 설정입니다.");
+        }
+        this.windowSize = windowSize;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+        this.outcomes = new boolean[windowSize];
+    }
+
+    /**
+     * 호출해도 되면 true. true 를 받았으면 결과를 onSuccess/onFailure 로 꼭 알려야 합니다.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        // 창이 다 찰 때까지는 판단하지 않는다.
+        if (recorded == windowSize && failures * 100 >= failureRateThreshold * windowSize) {
+            open();
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.millis();
+        probeInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        recorded = 0;
+        next = 0;
+        failures = 0;
+    }
+}
@@ -3,16 +3,24 @@ package hairwhere.hairwhere.service;
 import hairwhere.hairwhere.domain.Comment;
 import hairwhere.hairwhere.domain.Photo;
 import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.CommentResponse;
+import hairwhere.hairwhere.dto.CursorPage;
+import hairwhere.hairwhere.dto.FeedCursor;
 import hairwhere.hairwhere.repository.CommentRepository;
 import hairwhere.hairwhere.repository.PhotoRepository;
 import hairwhere.hairwhere.repository.UserRepository;
-import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -20,15 +28,22 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PhotoRepository photoRepository;
     private final UserRepository userRepository;
-    private final KakaoService kakaoService;
+    private final TrendingEngine trendingEngine;
 
-    public Comment createComment(@RequestHeader("Authorization") String token, Long PhotoId, String content, Long parentId) {
+    // 한 번에 내려주는 댓글 수 상한
+    private static final int MAX_PAGE_SIZE = 50;
+
+    @Value("${comment.thread.max-depth:3}")
+    private int maxDepth;
+
+    @Value("${comment.thread.reply-preview-size:3}")
+    private int replyPreviewSize;
+
+    @Transactional
+    public Comment createComment(User user, Long PhotoId, String content, Long parentId) {
         Photo photo = photoRepository.findById(PhotoId)
             .orElseThrow(() -> new IllegalArgumentException("Photo not found"));
 
-        // 현재 로그인한 사용자 정보 가져오기
-        User user = kakaoService.kakaoUserRequestToUser(kakaoService.getKakaoUserInfo(token));
-
         Comment comment = new Comment();
         comment.setContent(content);
         comment.setPhoto(photo);
@@ -41,15 +56,114 @@ public class CommentService {
             comment.setParent(parentComment);
         }
 
-        return commentRepository.save(comment);
+        Comment saved = commentRepository.save(comment);
+        trendingEngine.commentAdded(photo.getId(), photo.getGender());
+        return saved;
+    }
+
+    /**
+     * 사진의 최상위 댓글(parentId 가 있으면 그 댓글의 답글)을 커서 페이지로 반환합니다.
+     * 최상위 댓글은 최신 순, 답글은 대화 순서(오래된 순)이고 다음 페이지는 nextCursor 를 cursor 로 넘깁니다.
+     * 페이지의 댓글에는 replyCount 를 채우고, depth 단계까지는 답글을 부모마다 미리보기 개수만큼 펼칩니다.
+     * 쿼리 수는 depth 에만 비례하므로 스레드 크기와 상관없이 한 번의 응답 크기가 제한됩니다.
+     * 여러 쿼리가 같은 읽기 전용 트랜잭션에서 실행되어 커넥션을 한 번만 얻고 엔티티 스냅숏을 만들지 않습니다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentResponse> getComments(Long photoId, Long parentId, String cursor, int size, Integer depth) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int levels = depth == null ? maxDepth : Math.max(1, Math.min(depth, maxDepth));
+        FeedCursor position = FeedCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<CommentRepository.ThreadRowView> rows;
+        if (parentId == null) {
+            rows = position == null
+                ? commentRepository.findRootRows(photoId, limit)
+                : commentRepository.findRootRowsBefore(photoId, position.getCreated(), position.getId(), limit);
+        } else {
+            rows = position == null
+                ? commentRepository.findReplyRows(photoId, parentId, limit)
+                : commentRepository.findReplyRowsAfter(photoId, parentId, position.getCreated(), position.getId(), limit);
+        }
+
+        List<CommentResponse> fetched = new ArrayList<>(rows.size());
+        for (CommentRepository.ThreadRowView row : rows) {
+            fetched.add(toResponse(row, photoId));
+        }
+        CursorPage<CommentResponse> page = CursorPage.of(fetched, pageSize,
+            comment -> new FeedCursor(comment.getCreatedAt(), comment.getId()).encode());
+        expandReplies(page.getItems(), photoId, levels - 1);
+        return page;
     }
 
-    public List<Comment> getPhotoComments(Long PhotoId, Long parentId) {
-        if(parentId == null){
-            return commentRepository.findByPhotoIdAndParentIdIsNullOrderByCreatedAtDesc(PhotoId);
+    // 단계마다 답글 수 쿼리 한 번, 미리보기 쿼리 한 번
+    private void expandReplies(List<CommentResponse> level, Long photoId, int remaining) {
+        while (!level.isEmpty()) {
+            Map<Long, CommentResponse> byId = new HashMap<>();
+            for (CommentResponse comment : level) {
+                byId.put(comment.getId(), comment);
+            }
+            List<Long> parentIds = new ArrayList<>();
+            for (CommentRepository.ReplyCountView count : commentRepository.countRepliesByParentIds(byId.keySet())) {
+                byId.get(count.getParentId()).setReplyCount((int) count.getReplyCount());
+                parentIds.add(count.getParentId());
+            }
+            if (remaining <= 0 || parentIds.isEmpty()) {
+                return;
+            }
+
+            List<CommentResponse> next = new ArrayList<>();
+            for (Object[] row : commentRepository.findReplyPreviewByParentIds(parentIds, replyPreviewSize)) {
+                CommentResponse reply = toResponse(row, photoId);
+                byId.get(reply.getParentId()).getReplies().add(reply);
+                next.add(reply);
+            }
+            level = next;
+            remaining--;
         }
+    }
 
-        return commentRepository.findByPhotoIdAndParentIdOrderByCreatedAtDesc(PhotoId, parentId);
+    private static CommentResponse toResponse(CommentRepository.ThreadRowView row, Long photoId) {
+        return toResponse(row.getId(), row.getContent(), row.getCreatedAt(), row.getParentId(), photoId,
+            row.getUserId(), row.getKakaoId(), row.getNickName(), row.getProfileImageUrl());
+    }
+
+    // findReplyPreviewByParentIds 의 결과 행
+    private static CommentResponse toResponse(Object[] row, Long photoId) {
+        return toResponse(longOf(row[0]), (String) row[1], localDateTimeOf(row[2]), longOf(row[3]), photoId,
+            longOf(row[4]), longOf(row[5]), (String) row[6], (String) row[7]);
+    }
+
+    private static CommentResponse toResponse(Long id, String content, LocalDateTime createdAt, Long parentId,
+                                              Long photoId, Long userId, Long kakaoId, String nickName,
+                                              String profileImageUrl) {
+        CommentResponse response = new CommentResponse();
+        response.setId(id);
+        response.setContent(content);
+        response.setCreatedAt(createdAt);
+        response.setPhotoId(photoId);
+        response.setParentId(parentId);
+
+        if (userId != null) {
+            CommentResponse.UserResponse user = new CommentResponse.UserResponse();
+            user.setId(userId);
+            user.setKakaoId(kakaoId);
+            user.setNickName(nickName);
+            user.setProfileImageUrl(profileImageUrl);
+            response.setUser(user);
+        }
+        return response;
+    }
+
+    private static Long longOf(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static LocalDateTime localDateTimeOf(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
     }
 
     public void deleteComment(Long commentId) {
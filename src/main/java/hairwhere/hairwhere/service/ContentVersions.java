@@ -0,0 +1,131 @@
+package hairwhere.hairwhere.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 조건부 GET(ETag) 용 버전 번호. 엔티티를 읽지 않고도 응답이 바뀌었는지 판단할 수 있게 한다.
+ * 피드 버전은 사진 추가/삭제/좋아요마다, 사진 버전은 그 사진의 삭제/좋아요마다 올라간다.
+ * 버전은 밀리초 시각 이상으로만 증가하므로 재시작하면 이전에 발급한 ETag 는 모두 어긋난다.
+ * 좋아요 버퍼나 피드 캐시처럼 인스턴스 메모리에 있으며, 변경은 커밋된 뒤에 반영된다.
+ * <p>
+ * 버전은 이 인스턴스를 거친 변경만 알기 때문에, 인스턴스가 하나이고 사진/좋아요/작성자 정보가 이 애플리케이션으로만
+ * 바뀌는 배포에서만 photo.etag.enabled=true 로 켠다(기본 꺼짐). 꺼져 있으면 ETag 를 보내지 않고 항상 200 이다.
+ * DB 를 직접 고친 경우에도 응답이 영원히 고정되지 않도록 photo.etag.max-age-seconds 마다 모든 버전이 한 번씩 올라간다(0 이면 끈다).
+ */
+@Component
+public class ContentVersions {
+
+    private final boolean enabled;
+    private final long maxAgeMillis;
+    private final Clock clock;
+    private final long bootVersion;
+    private final AtomicLong lastVersion;
+    private final AtomicLong feedVersion;
+    // 작성자 닉네임/프로필처럼 여러 사진 응답에 함께 들어가는 값이 바뀐 시점
+    private final AtomicLong profileVersion;
+
+    // 한 번이라도 바뀐 사진만 들고 있고, 나머지는 bootVersion 이다.
+    private final ConcurrentHashMap<Long, Long> photoVersions = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ContentVersions(@Value("${photo.etag.enabled:false}") boolean enabled,
+                           @Value("${photo.etag.max-age-seconds:300}") long maxAgeSeconds) {
+        this(enabled, maxAgeSeconds, Clock.systemUTC());
+    }
+
+    ContentVersions(Clock clock) {
+        this(true, 0, clock);
+    }
+
+    ContentVersions(boolean enabled, long maxAgeSeconds, Clock clock) {
+        this.enabled = enabled;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.clock = clock;
+        this.bootVersion = clock.millis();
+        this.lastVersion = new AtomicLong(bootVersion);
+        this.feedVersion = new AtomicLong(bootVersion);
+        this.profileVersion = new AtomicLong(bootVersion);
+    }
+
+    /**
+     * false 면 컨트롤러는 ETag 를 보내지도, 304 로 답하지도 않습니다.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long feedVersion() {
+        return Math.max(Math.max(feedVersion.get(), profileVersion.get()), epoch());
+    }
+
+    public long photoVersion(Long photoId) {
+        return Math.max(Math.max(photoVersions.getOrDefault(photoId, bootVersion), profileVersion.get()), epoch());
+    }
+
+    /**
+     * 사진이 추가되어 피드 구성이 바뀌었습니다.
+     * 캐시/카운터를 고치는 다른 커밋 후 작업보다 나중에 호출해야 새 버전으로 옛 응답이 나가지 않습니다.
+     */
+    public void feedChanged() {
+        TransactionHooks.afterCommit(() -> feedVersion.accumulateAndGet(nextVersion(), Math::max));
+    }
+
+    /**
+     * 사진이 삭제되었거나 좋아요가 바뀌었습니다. 피드 버전도 함께 올라갑니다.
+     */
+    public void photoChanged(Long photoId) {
+        TransactionHooks.afterCommit(() -> bump(photoId));
+    }
+
+    /**
+     * 좋아요가 바뀌었습니다. 좋아요 수를 고치는 리스너(@Order(0))가 모두 반영한 뒤에 버전을 올립니다.
+     */
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        bump(event.getPhotoId());
+    }
+
+    private void bump(Long photoId) {
+        long version = nextVersion();
+        // 삭제된 사진도 지우지 않고 새 버전을 남겨야 이전 ETag 가 304 를 받지 않는다.
+        photoVersions.put(photoId, version);
+        feedVersion.accumulateAndGet(version, Math::max);
+    }
+
+    /**
+     * 작성자 닉네임이나 프로필 이미지가 바뀌었습니다. 어느 사진 응답에 들어 있는지 따로 찾지 않고 모든 버전을 올립니다.
+     */
+    public void profilesChanged() {
+        TransactionHooks.afterCommit(() -> profileVersion.accumulateAndGet(nextVersion(), Math::max));
+    }
+
+    /**
+     * 버전과 요청한 사용자로 ETag 를 만듭니다. 응답의 viewerHasLiked 가 사용자마다 다르므로 사용자도 포함합니다.
+     */
+    public static String etag(String resource, long version, Long viewerId) {
+        return "\"" + resource + "-" + version + "-" + (viewerId == null ? "anonymous" : viewerId) + "\"";
+    }
+
+    // max-age 구간의 시작 시각. 구간이 바뀌면 그 전에 발급한 모든 ETag 가 어긋난다.
+    private long epoch() {
+        if (maxAgeMillis <= 0) {
+            return 0;
+        }
+        return clock.millis() / maxAgeMillis * maxAgeMillis;
+    }
+
+    private long nextVersion() {
+        // epoch() 는 now 이하이므로 now + 1 이상이면 구간 시작 시각으로 읽히던 버전보다도 크다.
+        long now = clock.millis();
+        return lastVersion.accumulateAndGet(now + 1, (last, current) -> Math.max(last + 1, current));
+    }
+}
@@ -0,0 +1,187 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.dto.PhotoResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 메인 피드 앞쪽 페이지 캐시. 트래픽 대부분이 최신순 첫 몇 페이지라 (필터, 정렬, 페이지, 크기) 별로 응답을 들고 있는다.
+ * 캐시는 로그인 사용자와 무관한 응답만 담고, viewerHasLiked 는 꺼낼 때 복사본에 한 번의 쿼리로 표시한다.
+ * 같은 키의 재계산은 한 번만 일어나고 나머지 요청은 그 결과를 기다린다.
+ * 업로드/삭제 시 전부 비우고, 좋아요는 캐시된 좋아요 수만 고친다. ttl 이 지나면 다시 만든다.
+ */
+@Component
+public class FeedPageCache {
+
+    private final PhotoResponseAssembler photoResponseAssembler;
+    private final Clock clock;
+    private final int cachedPages;
+    private final int maxPageSize;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> entries = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public FeedPageCache(PhotoResponseAssembler photoResponseAssembler, MeterRegistry meterRegistry,
+                         @Value("${photo.feed-cache.pages:3}") int cachedPages,
+                         @Value("${photo.feed-cache.max-page-size:50}") int maxPageSize,
+                         @Value("${photo.feed-cache.ttl-seconds:30}") long ttlSeconds) {
+        this(photoResponseAssembler, meterRegistry, cachedPages, maxPageSize, ttlSeconds, Clock.systemUTC());
+    }
+
+    FeedPageCache(PhotoResponseAssembler photoResponseAssembler, MeterRegistry meterRegistry,
+                  int cachedPages, int maxPageSize, long ttlSeconds, Clock clock) {
+        this.photoResponseAssembler = photoResponseAssembler;
+        this.cachedPages = cachedPages;
+        this.maxPageSize = maxPageSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+        this.hits = Counter.builder("feed.page.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("feed.page.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("feed.page.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 캐시 대상 페이지면 캐시에서, 아니면 loader 로 바로 만들어 반환합니다.
+     * loader 는 viewer 와 무관한(viewerHasLiked 가 모두 false 인) 페이지를 만들어야 합니다.
+     */
+    public Page<PhotoResponse> get(String filterKey, Pageable pageable, Long viewerId,
+                                   Supplier<Page<PhotoResponse>> loader) {
+        if (!isCacheable(pageable)) {
+            Page<PhotoResponse> page = loader.get();
+            photoResponseAssembler.markViewerLikes(page.getContent(), viewerId);
+            return page;
+        }
+
+        String key = filterKey + "|" + pageable.getSort() + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize();
+        while (true) {
+            CompletableFuture<Entry> future = entries.get(key);
+            if (future == null) {
+                CompletableFuture<Entry> created = new CompletableFuture<>();
+                future = entries.putIfAbsent(key, created);
+                if (future == null) {
+                    misses.increment();
+                    return view(build(key, created, loader), viewerId);
+                }
+            }
+
+            Entry entry = join(future);
+            if (entry.expiresAt <= clock.millis()) {
+                // 만료된 항목은 replace 에 성공한 한 요청만 다시 만든다.
+                CompletableFuture<Entry> refreshed = new CompletableFuture<>();
+                if (entries.replace(key, future, refreshed)) {
+                    misses.increment();
+                    return view(build(key, refreshed, loader), viewerId);
+                }
+                continue;
+            }
+            hits.increment();
+            return view(entry, viewerId);
+        }
+    }
+
+    /**
+     * 사진이 추가/삭제되면 페이지 구성이 바뀌므로 전부 비웁니다. 커밋된 뒤에 반영됩니다.
+     */
+    public void invalidateAll() {
+        TransactionHooks.afterCommit(entries::clear);
+    }
+
+    /**
+     * 좋아요 수만 바뀐 경우 캐시된 페이지의 좋아요 수를 고칩니다. 커밋된 뒤에 반영됩니다.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        for (CompletableFuture<Entry> future : entries.values()) {
+            Entry entry = future.getNow(null);
+            if (entry != null) {
+                AtomicInteger likeCount = entry.likeCounts.get(event.getPhotoId());
+                if (likeCount != null) {
+                    likeCount.addAndGet(event.getDelta());
+                }
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private boolean isCacheable(Pageable pageable) {
+        return pageable.isPaged()
+            && pageable.getPageNumber() < cachedPages
+            && pageable.getPageSize() <= maxPageSize;
+    }
+
+    private Entry build(String key, CompletableFuture<Entry> future, Supplier<Page<PhotoResponse>> loader) {
+        try {
+            Entry entry = new Entry(loader.get(), clock.millis() + ttlMillis);
+            future.complete(entry);
+            return entry;
+        } catch (RuntimeException e) {
+            entries.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Entry join(CompletableFuture<Entry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // 캐시된 응답은 고치지 않고, 요청마다 복사본에 최신 좋아요 수와 viewer 표시를 채운다.
+    private Page<PhotoResponse> view(Entry entry, Long viewerId) {
+        List<PhotoResponse> copies = new ArrayList<>(entry.page.getNumberOfElements());
+        for (PhotoResponse response : entry.page.getContent()) {
+            PhotoResponse copy = response.copy();
+            copy.setLikeCount(entry.likeCounts.get(copy.getId()).get());
+            copies.add(copy);
+        }
+        photoResponseAssembler.markViewerLikes(copies, viewerId);
+        return new PageImpl<>(copies, entry.page.getPageable(), entry.page.getTotalElements());
+    }
+
+    private static class Entry {
+        private final Page<PhotoResponse> page;
+        private final Map<Long, AtomicInteger> likeCounts = new ConcurrentHashMap<>();
+        private final long expiresAt;
+
+        Entry(Page<PhotoResponse> page, long expiresAt) {
+            this.page = page;
+            this.expiresAt = expiresAt;
+            for (PhotoResponse response : page.getContent()) {
+                likeCounts.put(response.getId(), new AtomicInteger(response.getLikeCount()));
+            }
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package hairwhere.hairwhere.service;
 
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.Blob;
 import com.google.cloud.storage.BlobId;
 import com.google.cloud.storage.BlobInfo;
 import com.google.cloud.storage.Storage;
+import hairwhere.hairwhere.domain.ImageVariant;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,25 +15,41 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class GCPStorageService {
     private final Storage gcpStorage;
+    private final ImageVariantGenerator imageVariantGenerator;
+    private final MeterRegistry meterRegistry;
 
     @Value("${cloud.gcp.bucket-name}")
     private String bucketName;
 
+    // 재개 가능 업로드 청크 크기 (256KB 배수). 요청당 힙 사용량은 파일 크기가 아니라 이 값으로 제한된다.
+    @Value("${cloud.gcp.upload-chunk-size:1048576}")
+    private int uploadChunkSize;
+
     public String upload(MultipartFile image) {
         if (image.isEmpty()) {
             throw new IllegalArgumentException("사진이 없습니다.");
         }
-        return this.uploadImage(image);
+        return timed("upload", () -> this.uploadImage(image));
     }
 
     private String uploadImage(MultipartFile image) {
@@ -68,8 +89,19 @@ public class GCPStorageService {
             .setContentType(image.getContentType())
             .build();
 
+        // 파일 전체를 byte[] 로 올리지 않고 multipart 스트림에서 WriteChannel 로 청크 단위 전송
+        try (InputStream in = image.getInputStream();
+             WriteChannel writer = gcpStorage.writer(blobInfo)) {
+            writer.setChunkSize(uploadChunkSize);
+            OutputStream out = Channels.newOutputStream(writer);
+            in.transferTo(out);
+        } catch (Exception e) {
+            log.error("GCP 업로드 중 오류 발생: {}", e.getMessage());
+            throw new RuntimeException("GCP 업로드 실패", e);
+        }
+
         try {
-            gcpStorage.create(blobInfo, image.getBytes());
+            uploadVariants(image, blobId);
 
             // URL 인코딩 적용
             String encodedFileName = URLEncoder.encode(gcpFileName, StandardCharsets.UTF_8.toString())
@@ -78,22 +110,125 @@ public class GCPStorageService {
             // 공개 URL 생성 (Storage 객체에 설정된 ACL에 따라 달라질 수 있음)
             return String.format("https://storage.googleapis.com/%s/%s", bucketName, encodedFileName);
         } catch (Exception e) {
-            log.error("GCP 업로드 중 오류 발생: {}", e.getMessage());
+            log.error("GCP 축소본 업로드 중 오류 발생: {}", e.getMessage());
+            // 축소본 없이 원본만 남지 않도록 함께 지운다.
+            try {
+                gcpStorage.delete(blobIdsOf(gcpFileName));
+            } catch (Exception ignored) {
+                log.warn("업로드 실패 후 이미지 정리 실패: {}", gcpFileName);
+            }
             throw new RuntimeException("GCP 업로드 실패", e);
         }
     }
 
+    /**
+     * 원본 옆에 ImageVariant 별 축소본을 저장합니다.
+     * ImageIO 가 읽지 못하는 형식(webp 등)은 원본을 서버 측 복사해 경로 규칙을 유지합니다.
+     */
+    private void uploadVariants(MultipartFile image, BlobId original) throws IOException {
+        Map<ImageVariant, byte[]> variants;
+        try (InputStream in = image.getInputStream()) {
+            variants = imageVariantGenerator.generate(in);
+        }
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            BlobId variantId = BlobId.of(bucketName, original.getName() + variant.getSuffix());
+            byte[] bytes = variants.get(variant);
+            if (bytes == null) {
+                gcpStorage.copy(Storage.CopyRequest.of(original, variantId)).getResult();
+                continue;
+            }
+            BlobInfo blobInfo = BlobInfo.newBuilder(variantId)
+                .setContentType("image/jpeg")
+                .build();
+            gcpStorage.create(blobInfo, bytes);
+        }
+    }
+
+    /**
+     * 원본과 축소본을 한 번의 배치 요청으로 삭제합니다. 축소본이 없는 예전 사진도 그대로 동작합니다.
+     */
     public void deleteImageFromGCP(String imageUrl) {
         String key = extractKeyFromUrl(imageUrl);
         try {
-            BlobId blobId = BlobId.of(bucketName, key);
-            gcpStorage.delete(blobId);
+            timed("delete", () -> gcpStorage.delete(blobIdsOf(key)));
         } catch (Exception e) {
             throw new IllegalArgumentException("삭제 중 문제 발생");
         }
     }
 
+    /**
+     * 여러 이미지의 원본과 축소본을 배치 요청으로 삭제하고, 삭제되지 않고 남은 이미지 URL 을 반환합니다.
+     * 배치 삭제는 항목별 오류와 "이미 없음"을 똑같이 false 로 돌려주므로, false 인 오브젝트만 다시 조회해 아직 남아 있는지 확인합니다.
+     * 같은 이미지를 다시 지워도 괜찮습니다. 요청 자체가 실패하면 예외가 나며 배치 전체를 다시 시도해야 합니다.
+     */
+    public List<String> deleteImagesFromGCP(List<String> imageUrls) {
+        List<BlobId> blobIds = new ArrayList<>();
+        List<String> owners = new ArrayList<>();
+        for (String imageUrl : imageUrls) {
+            for (BlobId blobId : blobIdsOf(extractKeyFromUrl(imageUrl))) {
+                blobIds.add(blobId);
+                owners.add(imageUrl);
+            }
+        }
+
+        List<Boolean> deleted = timed("batch_delete", () -> gcpStorage.delete(blobIds));
+        List<BlobId> unconfirmed = new ArrayList<>();
+        List<String> unconfirmedOwners = new ArrayList<>();
+        for (int i = 0; i < blobIds.size(); i++) {
+            if (!Boolean.TRUE.equals(deleted.get(i))) {
+                unconfirmed.add(blobIds.get(i));
+                unconfirmedOwners.add(owners.get(i));
+            }
+        }
+        if (unconfirmed.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> remaining = new LinkedHashSet<>();
+        List<Blob> blobs = timed("batch_get", () -> gcpStorage.get(unconfirmed));
+        for (int i = 0; i < blobs.size(); i++) {
+            if (blobs.get(i) != null) {
+                remaining.add(unconfirmedOwners.get(i));
+            }
+        }
+        return new ArrayList<>(remaining);
+    }
+
+    /**
+     * GCS 호출 시간을 gcs.requests 타이머(operation, outcome 태그)에 남깁니다. 축소본 생성이 포함된 업로드도 한 번으로 잽니다.
+     */
+    private <T> T timed(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (IllegalArgumentException e) {
+            // 잘못된 파일 형식 등 GCS 까지 가지 않은 실패
+            outcome = "invalid";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("gcs.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+
+    private List<BlobId> blobIdsOf(String key) {
+        List<BlobId> blobIds = new ArrayList<>();
+        blobIds.add(BlobId.of(bucketName, key));
+        for (ImageVariant variant : ImageVariant.values()) {
+            blobIds.add(BlobId.of(bucketName, key + variant.getSuffix()));
+        }
+        return blobIds;
+    }
+
     private String extractKeyFromUrl(String imageUrl) {
-        return imageUrl.substring(imageUrl.lastIndexOf("/") + 1);
+        // 공개 URL 은 인코딩된 이름이므로 실제 오브젝트 이름으로 되돌린다.
+        return URLDecoder.decode(imageUrl.substring(imageUrl.lastIndexOf("/") + 1), StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,17 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.GeoPoint;
+
+import java.util.Optional;
+
+/**
+ * 미용실 주소를 좌표로 바꾼다. 업로드에 좌표가 없을 때 사용한다.
+ * 외부 지도 API 를 쓰려면 구현체를 @Primary 빈으로 등록하면 된다.
+ */
+public interface Geocoder {
+
+    /**
+     * 좌표를 모르면 빈 값을 반환합니다.
+     */
+    Optional<GeoPoint> geocode(String address);
+}
@@ -0,0 +1,227 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.ImageVariant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.NodeList;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 원본 이미지로 ImageVariant 별 JPEG 축소본을 만든다. JDK ImageIO 만 사용한다.
+ * 가장 큰 변형보다 큰 원본은 디코딩 단계에서 서브샘플링해 전체 해상도 픽셀을 힙에 올리지 않는다.
+ * 휴대폰 사진은 픽셀을 눕힌 채 EXIF Orientation 으로 방향을 적어 두므로, 축소본에는 그 회전을 미리 적용한다.
+ * (축소본은 메타데이터 없이 저장되어 브라우저가 방향을 알 수 없다)
+ */
+@Slf4j
+@Component
+public class ImageVariantGenerator {
+
+    private static final String JPEG_METADATA = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final byte[] EXIF_HEADER = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+
+    private final float jpegQuality;
+
+    public ImageVariantGenerator(@Value("${photo.variant.jpeg-quality:0.8}") float jpegQuality) {
+        this.jpegQuality = jpegQuality;
+    }
+
+    /**
+     * ImageIO 가 읽을 수 없는 형식이거나 디코딩에 실패하면(CMYK/YCCK JPEG 등) 빈 맵을 반환합니다.
+     */
+    public Map<ImageVariant, byte[]> generate(InputStream in) throws IOException {
+        Map<ImageVariant, byte[]> variants = new EnumMap<>(ImageVariant.class);
+        BufferedImage source;
+        try {
+            source = read(in, largestEdge());
+        } catch (IIOException e) {
+            log.warn("축소본을 만들 수 없는 이미지: {}", e.getMessage());
+            return variants;
+        }
+        if (source == null) {
+            return variants;
+        }
+
+        for (ImageVariant variant : ImageVariant.values()) {
+            variants.put(variant, writeJpeg(resize(source, variant.getMaxEdge())));
+        }
+        return variants;
+    }
+
+    private BufferedImage read(InputStream in, int targetEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(in)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+
+                // 가장 큰 변형 크기 아래로 내려가지 않는 만큼만 건너뛰며 읽는다.
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longEdge / targetEdge);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return orient(reader.read(0, param), orientationOf(reader));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * JPEG APP1(EXIF) 의 IFD0 에서 Orientation 값을 읽습니다. 없거나 읽을 수 없으면 1(회전 없음).
+     */
+    private int orientationOf(ImageReader reader) {
+        try {
+            IIOMetadata metadata = reader.getImageMetadata(0);
+            if (metadata == null || !Arrays.asList(metadata.getMetadataFormatNames()).contains(JPEG_METADATA)) {
+                return 1;
+            }
+            IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA);
+            NodeList markers = root.getElementsByTagName("unknown");
+            for (int i = 0; i < markers.getLength(); i++) {
+                IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+                if (Integer.parseInt(marker.getAttribute("MarkerTag")) == APP1_MARKER
+                    && marker.getUserObject() instanceof byte[] data) {
+                    int orientation = exifOrientation(data);
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 방향 정보가 깨져 있어도 축소본은 만든다.
+            log.debug("EXIF 방향 읽기 실패: {}", e.getMessage());
+        }
+        return 1;
+    }
+
+    private int exifOrientation(byte[] data) {
+        if (data.length < EXIF_HEADER.length + 8
+            || !Arrays.equals(data, 0, EXIF_HEADER.length, EXIF_HEADER, 0, EXIF_HEADER.length)) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(data, EXIF_HEADER.length, data.length - EXIF_HEADER.length).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+
+        int ifd = tiff.getInt(4);
+        int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                return Short.toUnsignedInt(tiff.getShort(entry + 8));
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * EXIF Orientation(1~8) 대로 돌리거나 뒤집어 보이는 방향의 이미지로 만듭니다. 5~8 은 가로세로가 바뀝니다.
+     */
+    private BufferedImage orient(BufferedImage image, int orientation) {
+        if (orientation < 2 || orientation > 8) {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        AffineTransform transform = new AffineTransform();
+        switch (orientation) {
+            case 2 -> { transform.translate(width, 0); transform.scale(-1, 1); }
+            case 3 -> { transform.translate(width, height); transform.rotate(Math.PI); }
+            case 4 -> { transform.translate(0, height); transform.scale(1, -1); }
+            case 5 -> { transform.rotate(Math.PI / 2); transform.scale(1, -1); }
+            case 6 -> { transform.translate(height, 0); transform.rotate(Math.PI / 2); }
+            case 7 -> { transform.translate(height, width); transform.rotate(Math.PI / 2); transform.scale(-1, 1); }
+            default -> { transform.translate(0, width); transform.rotate(-Math.PI / 2); }
+        }
+
+        boolean swapped = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage target = new BufferedImage(swapped ? height : width, swapped ? width : height, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private BufferedImage resize(BufferedImage source, int maxEdge) {
+        int longEdge = Math.max(source.getWidth(), source.getHeight());
+        // 원본보다 크게 늘리지는 않는다.
+        double scale = Math.min(1.0, (double) maxEdge / longEdge);
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG 는 알파를 지원하지 않으므로 흰 배경 위에 그린다.
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private byte[] writeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private int largestEdge() {
+        int largest = 0;
+        for (ImageVariant variant : ImageVariant.values()) {
+            largest = Math.max(largest, variant.getMaxEdge());
+        }
+        return largest;
+    }
+}
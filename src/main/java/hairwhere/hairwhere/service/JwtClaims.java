@@ -0,0 +1,40 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.dto.AuthUser;
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 검증이 끝난 JWT 의 클레임. JwtService.verify 가 반환한다.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtClaims {
+    private final String subject;
+    private final Long id;
+    private final Long kakaoId;
+    private final String nickname;
+    private final String profileImageUrl;
+    private final long expiresAt;
+
+    static JwtClaims from(Claims claims) {
+        Object id = claims.get("id");
+        return new JwtClaims(
+            claims.getSubject(),
+            id == null ? null : ((Number) id).longValue(),
+            Long.parseLong(claims.getSubject()),
+            claims.get("nickname", String.class),
+            claims.get("profileImageUrl", String.class),
+            claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime());
+    }
+
+    public boolean isExpired(long now) {
+        return expiresAt <= now;
+    }
+
+    public AuthUser toAuthUser() {
+        return new AuthUser(id, kakaoId, nickname, profileImageUrl);
+    }
+}
@@ -1,6 +1,9 @@
 package hairwhere.hairwhere.service;
 
 import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.AuthUser;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -12,27 +15,125 @@ import io.jsonwebtoken.Claims;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final long accessTokenValidity;
+
+    // 서명 키와 파서는 불변이고 스레드 안전하므로 한 번만 만들어 재사용한다.
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+
+    // 이미 검증한 토큰 -> 클레임 (access-order LRU). 만료 시각이 지나면 다시 검증한다.
+    private final int verifiedCacheSize;
+    private final LinkedHashMap<String, JwtClaims> verifiedTokens;
+
+    // 로그아웃한 토큰 -> 만료 시각. 만료된 토큰은 서명 검증에서 거절되므로 그때까지만 들고 있는다.
+    // 검증 캐시처럼 인스턴스 메모리에 있으므로 로그아웃은 요청을 받은 인스턴스에만 반영된다.
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.access-token-validity}") long accessTokenValidity,
+                      @Value("${jwt.verified-cache-size:1024}") int verifiedCacheSize) {
+        this.accessTokenValidity = accessTokenValidity;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.jwtParser = Jwts.parserBuilder()
+            .setSigningKey(signingKey)
+            .build();
+        this.verifiedCacheSize = verifiedCacheSize;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JwtClaims> eldest) {
+                return size() > JwtService.this.verifiedCacheSize;
+            }
+        };
+    }
+
+    /**
+     * JWT 토큰을 한 번만 파싱/검증하고 타입이 있는 클레임을 반환합니다.
+     * 최근에 검증한 토큰은 만료 전까지 서명 검증을 생략합니다.
+     */
+    public JwtClaims verify(String token) {
+        long now = System.currentTimeMillis();
+
+        if (revokedTokens.containsKey(token)) {
+            throw new JwtException("로그아웃한 토큰입니다.");
+        }
+
+        if (verifiedCacheSize > 0) {
+            synchronized (verifiedTokens) {
+                JwtClaims cached = verifiedTokens.get(token);
+                if (cached != null) {
+                    if (!cached.isExpired(now)) {
+                        return cached;
+                    }
+                    verifiedTokens.remove(token);
+                }
+            }
+        }
+
+        // 서명이 틀리거나 만료된 토큰은 여기서 JwtException 이 발생한다.
+        JwtClaims claims = JwtClaims.from(extractAllClaims(token));
+
+        if (verifiedCacheSize > 0) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(token, claims);
+            }
+        }
+        return claims;
+    }
 
-    @Value("${jwt.access-token-validity}")
-    private long accessTokenValidity;
+    /**
+     * 로그아웃한 토큰을 만료 시각까지 거절합니다. 이미 유효하지 않은 토큰이면 아무것도 하지 않습니다.
+     */
+    public void revoke(String token) {
+        JwtClaims claims;
+        try {
+            claims = verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return;
+        }
+        revokedTokens.put(token, claims.getExpiresAt());
+        if (verifiedCacheSize > 0) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(token);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+    }
 
     /**
      * JWT 토큰에서 사용자 이름(subject)을 추출합니다.
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     public Long extractKakaoId(String token) {
-        return extractClaim(token, claims -> Long.parseLong(claims.get("kakaoId").toString()));
+        return verify(token).getKakaoId();
+    }
+
+    /**
+     * JWT 토큰을 검증하고 클레임으로 로그인 사용자 정보를 만듭니다.
+     */
+    public AuthUser extractAuthUser(String token) {
+        return verify(token).toAuthUser();
+    }
+
+    /**
+     * 우리 서버가 발급한 JWT 형식(header.payload.signature)인지 확인합니다.
+     * 카카오 액세스 토큰은 '.' 을 포함하지 않습니다.
+     */
+    public boolean isJwt(String token) {
+        int first = token.indexOf('.');
+        return first > 0 && token.indexOf('.', first + 1) > first + 1;
     }
 
     /**
@@ -51,57 +152,35 @@ public class JwtService {
         claims.put("id", user.getId());
         claims.put("kakaoId", user.getKakaoId());
         claims.put("nickname", user.getNickName());
+        claims.put("profileImageUrl", user.getProfileImageUrl());
 
         return Jwts.builder()
             .setClaims(claims)
             .setSubject(String.valueOf(user.getKakaoId())) // 카카오 ID를 subject로 사용
             .setIssuedAt(new Date(System.currentTimeMillis()))
             .setExpiration(new Date(System.currentTimeMillis() + accessTokenValidity * 1000L))
-            .signWith(getSigningKey())
+            .signWith(signingKey)
             .compact();
     }
 
     /**
      * JWT 토큰이 유효한지 검증합니다.
+     * 서명과 만료 시간은 verify 에서 한 번의 파싱으로 함께 확인됩니다.
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    /**
-     * JWT 토큰의 유효기간이 만료되었는지 확인합니다.
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * JWT 토큰에서 만료 시간을 추출합니다.
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        try {
+            return verify(token).getSubject().equals(userDetails.getUsername());
+        } catch (JwtException e) {
+            return false;
+        }
     }
 
     /**
      * JWT 토큰에서 모든 클레임을 추출합니다.
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
+        return jwtParser
             .parseClaimsJws(token)
             .getBody();
     }
-
-    /**
-     * JWT 서명에 사용할 키를 생성합니다.
-     */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-
-
 }
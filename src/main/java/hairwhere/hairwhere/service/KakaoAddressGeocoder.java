@@ -0,0 +1,52 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.GeoPoint;
+import hairwhere.hairwhere.dto.KakaoAddressResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 기본 Geocoder. 같은 주소로 좌표가 저장된 사진이 있으면 그 좌표를 쓰고,
+ * 처음 보는 주소(새 미용실)는 카카오 로컬 주소 검색으로 찾는다.
+ * 카카오 호출은 KakaoApiClient 의 동시 호출 제한과 서킷 브레이커를 그대로 탄다.
+ */
+@Primary
+@Component
+public class KakaoAddressGeocoder implements Geocoder {
+
+    private final KnownAddressGeocoder knownAddressGeocoder;
+    private final KakaoApiClient kakaoApiClient;
+    private final String restApiKey;
+
+    @Autowired
+    public KakaoAddressGeocoder(KnownAddressGeocoder knownAddressGeocoder, KakaoApiClient kakaoApiClient,
+                                @Value("${kakao.client.id}") String restApiKey) {
+        this.knownAddressGeocoder = knownAddressGeocoder;
+        this.kakaoApiClient = kakaoApiClient;
+        this.restApiKey = restApiKey;
+    }
+
+    @Override
+    public Optional<GeoPoint> geocode(String address) {
+        Optional<GeoPoint> known = knownAddressGeocoder.geocode(address);
+        if (known.isPresent()) {
+            return known;
+        }
+        // 업로드는 I/O 실행기(ioExecutor)에서 처리되므로 응답을 기다린다. 실패하면 호출한 쪽에서 좌표 없이 저장한다.
+        KakaoAddressResponse response = kakaoApiClient.searchAddress(restApiKey, address).block();
+        if (response == null) {
+            return Optional.empty();
+        }
+        List<KakaoAddressResponse.Document> documents = response.getDocuments();
+        if (documents == null || documents.isEmpty()) {
+            return Optional.empty();
+        }
+        KakaoAddressResponse.Document first = documents.get(0);
+        return Optional.of(GeoPoint.of(Double.valueOf(first.getY()), Double.valueOf(first.getX())));
+    }
+}
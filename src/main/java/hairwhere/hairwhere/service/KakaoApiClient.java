@@ -0,0 +1,183 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.dto.KakaoAddressResponse;
+import hairwhere.hairwhere.dto.KakaoUserRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ConnectTimeoutException;
+import io.netty.handler.timeout.ReadTimeoutException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 카카오 API 호출. 호출은 모두 Mono 로 반환하며 스레드를 막지 않는다.
+ * 동시 호출 수를 제한(bulkhead)하고, 실패가 이어지면 서킷 브레이커가 열려 카카오를 기다리지 않고 바로 503 으로 실패한다.
+ * 사용자 정보 조회의 4xx(잘못된 토큰 등)는 카카오 장애가 아니므로 실패로 세지 않는다.
+ * 호출 지연은 kakao.api.requests 타이머(endpoint, outcome 태그)에 히스토그램으로 남는다.
+ */
+@Slf4j
+@Component
+public class KakaoApiClient {
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final String userInfoUri;
+    private final String tokenUri;
+    private final String addressSearchUri;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter bulkheadRejections;
+    private final Counter circuitRejections;
+
+    @Autowired
+    public KakaoApiClient(@Qualifier("kakaoWebClient") WebClient webClient,
+                          MeterRegistry meterRegistry,
+                          @Value("${kakao.api.user-info-uri:https://kapi.kakao.com/v2/user/me}") String userInfoUri,
+                          @Value("${kakao.api.token-uri:https://kauth.kakao.com/oauth/token}") String tokenUri,
+                          @Value("${kakao.api.address-search-uri:https://dapi.kakao.com/v2/local/search/address.json}") String addressSearchUri,
+                          @Value("${kakao.api.max-concurrent-calls:32}") int maxConcurrentCalls,
+                          @Value("${kakao.api.circuit.window-size:20}") int circuitWindowSize,
+                          @Value("${kakao.api.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                          @Value("${kakao.api.circuit.open-ms:10000}") long circuitOpenMs) {
+        this(webClient, meterRegistry, userInfoUri, tokenUri, addressSearchUri, maxConcurrentCalls,
+            new CircuitBreaker(circuitWindowSize, failureRateThreshold, circuitOpenMs, Clock.systemUTC()));
+    }
+
+    KakaoApiClient(WebClient webClient, MeterRegistry meterRegistry, String userInfoUri, String tokenUri,
+                   String addressSearchUri, int maxConcurrentCalls, CircuitBreaker circuitBreaker) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.userInfoUri = userInfoUri;
+        this.tokenUri = tokenUri;
+        this.addressSearchUri = addressSearchUri;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = circuitBreaker;
+
+        this.bulkheadRejections = meterRegistry.counter("kakao.api.rejections", "reason", "bulkhead");
+        this.circuitRejections = meterRegistry.counter("kakao.api.rejections", "reason", "circuit_open");
+        Gauge.builder("kakao.api.in-flight", bulkhead, semaphore -> maxConcurrentCalls - semaphore.availablePermits())
+            .register(meterRegistry);
+        // 0: 닫힘, 1: 시험 호출 중, 2: 열림
+        Gauge.builder("kakao.api.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+            .register(meterRegistry);
+    }
+
+    /**
+     * 액세스 토큰으로 사용자 정보를 요청합니다.
+     */
+    public Mono<KakaoUserRequest> userInfo(String accessToken) {
+        return call("user_info", webClient.post()
+            .uri(userInfoUri)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .retrieve()
+            .bodyToMono(KakaoUserRequest.class));
+    }
+
+    /**
+     * 인가 code 로 액세스 토큰을 요청합니다.
+     */
+    public Mono<KakaoService.KakaoTokenResponse> token(MultiValueMap<String, String> form) {
+        return call("token", webClient.post()
+            .uri(tokenUri)
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .body(BodyInserters.fromFormData(form))
+            .retrieve()
+            .bodyToMono(KakaoService.KakaoTokenResponse.class));
+    }
+
+    /**
+     * 카카오 로컬 API 로 주소를 검색합니다. 앱의 REST API 키(kakao.client.id)로 호출합니다.
+     */
+    public Mono<KakaoAddressResponse> searchAddress(String restApiKey, String address) {
+        return call("address_search", webClient.get()
+            .uri(addressSearchUri, uri -> uri.queryParam("query", "{query}").build(address))
+            .header(HttpHeaders.AUTHORIZATION, "KakaoAK " + restApiKey)
+            .retrieve()
+            .bodyToMono(KakaoAddressResponse.class));
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private <T> Mono<T> call(String endpoint, Mono<T> request) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                bulkheadRejections.increment();
+                return Mono.error(unavailable());
+            }
+            if (!circuitBreaker.tryAcquire()) {
+                bulkhead.release();
+                circuitRejections.increment();
+                return Mono.error(unavailable());
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return request
+                .doOnSuccess(body -> {
+                    circuitBreaker.onSuccess();
+                    sample.stop(timer(endpoint, "success"));
+                })
+                .doOnError(e -> {
+                    String outcome = outcomeOf(e);
+                    if (outcome.equals("client_error")) {
+                        circuitBreaker.onSuccess();
+                    } else {
+                        circuitBreaker.onFailure();
+                        log.warn("카카오 API 호출 실패({}): {}", endpoint, e.getMessage());
+                    }
+                    sample.stop(timer(endpoint, outcome));
+                })
+                // 구독이 취소되면 결과를 알 수 없으므로 실패로 본다.
+                .doOnCancel(() -> {
+                    circuitBreaker.onFailure();
+                    sample.stop(timer(endpoint, "cancelled"));
+                })
+                .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    private Timer timer(String endpoint, String outcome) {
+        return Timer.builder("kakao.api.requests")
+            .tag("endpoint", endpoint)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    private static String outcomeOf(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is4xxClientError() ? "client_error" : "server_error";
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof ReadTimeoutException
+                || cause instanceof ConnectTimeoutException) {
+                return "timeout";
+            }
+        }
+        return "io_error";
+    }
+
+    private static ResponseStatusException unavailable() {
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "카카오 로그인이 잠시 원활하지 않습니다. 잠시 후 다시 시도해주세요.");
+    }
+}
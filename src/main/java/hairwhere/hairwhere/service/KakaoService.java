@@ -7,14 +7,9 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +17,8 @@ public class KakaoService {
 
     private final UserRepository userRepository;
     private final JwtService jwtService;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final KakaoUserCache kakaoUserCache;
+    private final KakaoApiClient kakaoApiClient;
     private static final Logger log = LoggerFactory.getLogger(KakaoService.class);
 
     @Value("${kakao.client.id}")
@@ -34,12 +30,11 @@ public class KakaoService {
     @Value("${kakao.client.secret}")
     private String clientSecret;
 
-    public String getKakaoAccessToken(String code) { //code로 token을 반환
-        String tokenUrl = "https://kauth.kakao.com/oauth/token";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
+    /**
+     * code로 token을 반환합니다.
+     * 카카오 호출은 KakaoApiClient 의 타임아웃 안에서 끝나고, 서킷이 열려 있으면 기다리지 않고 503 으로 실패합니다.
+     */
+    public String getKakaoAccessToken(String code) {
         MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
         params.add("grant_type", "authorization_code");
         params.add("client_id", clientId);
@@ -47,44 +42,21 @@ public class KakaoService {
         params.add("client_secret", clientSecret);
         params.add("code", code);
 
-        HttpEntity<MultiValueMap<String, String>> kakaoTokenRequest =
-            new HttpEntity<>(params, headers);
-
-        ResponseEntity<KakaoTokenResponse> response = restTemplate.exchange(
-            tokenUrl,
-            HttpMethod.POST,
-            kakaoTokenRequest,
-            KakaoTokenResponse.class
-        );
-
-        return response.getBody().getAccess_token();
+        KakaoTokenResponse response = kakaoApiClient.token(params).block();
+        if (response == null) {
+            throw new RuntimeException("카카오 토큰 응답이 비어 있습니다.");
+        }
+        return response.getAccess_token();
     }
 
     /**
      * 카카오 액세스 토큰으로 사용자 정보를 요청합니다.
      */
     public KakaoUserRequest getKakaoUserInfo(String accessToken) {
-        String userInfoUrl = "https://kapi.kakao.com/v2/user/me";
-
-        // "Bearer " 접두사가 있는 경우 제거
-        if (accessToken.startsWith("Bearer ")) {
-            accessToken = accessToken.substring(7);
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.add("Authorization", "Bearer " + accessToken);
-        headers.add("Content-type", "application/x-www-form-urlencoded;charset=utf-8");
-
-        HttpEntity<MultiValueMap<String, String>> kakaoUserInfoRequest = new HttpEntity<>(headers);
+        accessToken = stripBearer(accessToken);
 
         try {
-            ResponseEntity<KakaoUserRequest> response = restTemplate.exchange(
-                userInfoUrl,
-                HttpMethod.POST,
-                kakaoUserInfoRequest,
-                KakaoUserRequest.class
-            );
-            return response.getBody();
+            return kakaoApiClient.userInfo(accessToken).block();
         } catch (Exception e) {
             // 에러 로깅
             log.error("카카오 API 호출 오류: {}", e.getMessage());
@@ -92,6 +64,38 @@ public class KakaoService {
         }
     }
 
+    /**
+     * 액세스 토큰에 해당하는 User 를 반환합니다.
+     * 캐시에 있으면 카카오 API 호출과 DB 조회 없이 바로 반환합니다.
+     */
+    public User getUserByToken(String accessToken) {
+        String token = stripBearer(accessToken);
+
+        User cached = kakaoUserCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        User user = kakaoUserRequestToUser(getKakaoUserInfo(token));
+        kakaoUserCache.put(token, user);
+        return user;
+    }
+
+    /**
+     * 로그아웃 등으로 더 이상 쓰지 않는 토큰을 캐시에서 제거합니다.
+     */
+    public void evictToken(String accessToken) {
+        kakaoUserCache.evict(stripBearer(accessToken));
+    }
+
+    // "Bearer " 접두사가 있는 경우 제거
+    private String stripBearer(String accessToken) {
+        if (accessToken.startsWith("Bearer ")) {
+            return accessToken.substring(7);
+        }
+        return accessToken;
+    }
+
     /**
      * 카카오 로그인 프로세스를 처리합니다.
      * 1. 인증 코드로 액세스 토큰을 요청
@@ -103,16 +107,17 @@ public class KakaoService {
         // 카카오 액세스 토큰 가져오기
         String accessToken = getKakaoAccessToken(code);
 
-        // 액세스 토큰으로 사용자 정보 가져오기
-        //KakaoUserRequest KakaoUserRequest = getKakaoUserInfo(accessToken);
-
-        // 사용자 정보로 우리 서비스 유저 찾기 또는 생성
-        //User user = userRepository.findByKakaoId(KakaoUserRequest.getKakaoId())
-            //.orElseGet(() -> createKakaoUser(KakaoUserRequest));
+        // 액세스 토큰으로 사용자 정보를 가져오고 우리 서비스 유저 찾기 또는 생성 후 JWT 토큰 생성
+        return issueToken(accessToken);
+    }
 
-        // JWT 토큰 생성
-        //return jwtService.generateToken(user);
-        return accessToken;
+    /**
+     * 카카오 액세스 토큰을 확인하고 서비스 JWT 를 발급합니다.
+     * 이후 요청은 JWT 만으로 로컬에서 검증되므로 카카오 API 를 다시 호출하지 않습니다.
+     */
+    public String issueToken(String accessToken) {
+        User user = getUserByToken(accessToken);
+        return jwtService.generateToken(user);
     }
 
     /**
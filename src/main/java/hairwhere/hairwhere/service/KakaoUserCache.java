@@ -0,0 +1,113 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 카카오 액세스 토큰 -> User 매핑을 TTL 과 최대 크기 제한을 두고 보관하는 캐시.
+ * 캐시에 있으면 kapi.kakao.com 호출과 UserRepository 조회를 모두 건너뛴다.
+ */
+@Component
+public class KakaoUserCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    // accessOrder = true 이므로 가장 오래 사용되지 않은 항목이 맨 앞에 위치한다.
+    private final LinkedHashMap<String, CachedUser> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter expiredCounter;
+    private final Counter sizeEvictionCounter;
+
+    @Autowired
+    public KakaoUserCache(MeterRegistry meterRegistry,
+                          @Value("${kakao.user-cache.max-size:10000}") int maxSize,
+                          @Value("${kakao.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this(meterRegistry, maxSize, ttlSeconds, Clock.systemUTC());
+    }
+
+    KakaoUserCache(MeterRegistry meterRegistry, int maxSize, long ttlSeconds, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000L;
+        this.clock = clock;
+
+        this.hitCounter = meterRegistry.counter("kakao.user.cache.requests", "result", "hit");
+        this.missCounter = meterRegistry.counter("kakao.user.cache.requests", "result", "miss");
+        this.expiredCounter = meterRegistry.counter("kakao.user.cache.evictions", "cause", "expired");
+        this.sizeEvictionCounter = meterRegistry.counter("kakao.user.cache.evictions", "cause", "size");
+        Gauge.builder("kakao.user.cache.size", this, KakaoUserCache::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 토큰에 해당하는 User 를 반환한다. 없거나 만료되었으면 null.
+     */
+    public synchronized User get(String token) {
+        CachedUser cached = entries.get(token);
+        if (cached == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (cached.expiresAt <= clock.millis()) {
+            entries.remove(token);
+            expiredCounter.increment();
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return cached.user;
+    }
+
+    public synchronized void put(String token, User user) {
+        entries.put(token, new CachedUser(user, clock.millis() + ttlMillis));
+        evictOverflow();
+    }
+
+    public synchronized void evict(String token) {
+        entries.remove(token);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+        long now = clock.millis();
+        Iterator<Map.Entry<String, CachedUser>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            CachedUser eldest = iterator.next().getValue();
+            iterator.remove();
+            if (eldest.expiresAt <= now) {
+                expiredCounter.increment();
+            } else {
+                sizeEvictionCounter.increment();
+            }
+        }
+    }
+
+    private static class CachedUser {
+        private final User user;
+        private final long expiresAt;
+
+        private CachedUser(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.GeoPoint;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * 외부 API 없이 동작하는 Geocoder.
+ * 같은 주소로 좌표와 함께 올라온 사진이 있으면 그 좌표를 재사용한다. 처음 보는 주소는 찾지 못하므로
+ * 앱에서는 KakaoAddressGeocoder 가 이것을 먼저 시도하고 없을 때만 카카오에 묻는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class KnownAddressGeocoder implements Geocoder {
+
+    private final PhotoRepository photoRepository;
+
+    @Override
+    public Optional<GeoPoint> geocode(String address) {
+        return photoRepository.findFirstByHairSalonAddressAndLatitudeIsNotNullOrderByCreatedDesc(address)
+            .map(location -> GeoPoint.of(location.getLatitude(), location.getLongitude()));
+    }
+}
@@ -0,0 +1,18 @@
+package hairwhere.hairwhere.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 좋아요 행이 실제로 추가(+1)되었거나 삭제(-1)되었습니다. LikeService 가 발행합니다.
+ * 좋아요 수를 들고 있는 카운터/캐시/집계는 이 이벤트를 커밋된 뒤에 받아 각자 반영합니다(@TransactionalEventListener).
+ * 리스너는 @Order(0) 으로, 응답 버전을 올리는 ContentVersions 는 그보다 뒤인 @Order(1) 로 실행됩니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LikeChangedEvent {
+    private final Long photoId;
+    private final String hairSalon;
+    private final String gender;
+    private final int delta;
+}
@@ -0,0 +1,229 @@
+package hairwhere.hairwhere.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Photo.likeCount 앞단의 쓰기 지연(write-behind) 카운터.
+ * 좋아요마다 같은 photo 행을 UPDATE 하면 인기 사진에서 행 락 경합으로 쓰기가 직렬화되므로,
+ * 증감은 사진별 LongAdder 에 모았다가 주기적으로 배치 UPDATE 한 번에 반영한다.
+ * 아직 반영되지 않은 증감은 pendingDelta 로 조회해 읽기 시 DB 값에 더한다.
+ * 프로세스가 강제 종료되면 메모리의 증감은 사라지므로, likes 테이블 기준으로 like_count 를 다시 맞추는
+ * 보정(reconcile)을 주기적으로(바뀐 사진만) 그리고 기동 시(어긋난 사진 전체) 돌린다.
+ */
+@Slf4j
+@Component
+public class LikeCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE photo SET like_count = like_count + ? WHERE photo_id = ?";
+    private static final String COUNT_LIKES = "(SELECT COUNT(*) FROM likes WHERE likes.photo_id = photo.photo_id)";
+    private static final String RECONCILE_SQL = "UPDATE photo SET like_count = " + COUNT_LIKES + " WHERE photo_id = ?";
+    private static final String RECONCILE_ALL_SQL =
+        "UPDATE photo SET like_count = " + COUNT_LIKES + " WHERE like_count <> " + COUNT_LIKES;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Timer flushTimer;
+    private final boolean reconcileOnStartup;
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // 카운터에서 빼서 배치 UPDATE 중인 증감. 커밋 전까지는 읽기 값에 계속 더해 과소 집계를 막는다.
+    private final ConcurrentHashMap<Long, Long> inFlight = new ConcurrentHashMap<>();
+
+    // 지난 보정 이후 증감이 있었던 사진
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+
+    // 맵에서 뺀 뒤에도 늦게 도착한 증감이 있을 수 있어 한 주기 더 비워 본 뒤 버린다.
+    private Map<Long, LongAdder> retired = Map.of();
+
+    public LikeCountBuffer(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                           @Value("${photo.like-count.reconcile-on-startup:true}") boolean reconcileOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileOnStartup = reconcileOnStartup;
+        this.flushTimer = Timer.builder("photo.like.count.flush")
+            .description("좋아요 수 배치 반영 시간")
+            .register(meterRegistry);
+        Gauge.builder("photo.like.count.pending.photos", pending, Map::size)
+            .description("반영 대기 중인 사진 수")
+            .register(meterRegistry);
+        Gauge.builder("photo.like.count.pending.delta", this, LikeCountBuffer::pendingBacklog)
+            .description("반영 대기 중인 증감 절댓값 합")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 커밋된 좋아요 증감을 기록합니다. 롤백된 좋아요는 이벤트가 오지 않으므로 카운터가 어긋나지 않습니다.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        add(event.getPhotoId(), event.getDelta());
+    }
+
+    void add(Long photoId, int delta) {
+        adderOf(photoId).add(delta);
+        touched.add(photoId);
+    }
+
+    /**
+     * 아직 DB 에 반영되지 않은 증감. 읽기 시 photo.like_count 에 더해서 사용합니다.
+     */
+    public long pendingDelta(Long photoId) {
+        LongAdder adder = pending.get(photoId);
+        return (adder == null ? 0 : adder.sum()) + inFlight.getOrDefault(photoId, 0L);
+    }
+
+    /**
+     * 모인 증감을 사진별 UPDATE 한 번씩, JDBC 배치로 반영합니다.
+     */
+    @Scheduled(fixedDelayString = "${photo.like-count.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+
+        // 지난 주기에 뺀 카운터에 늦게 들어온 증감까지 비운다.
+        retired.forEach((photoId, adder) -> drainInto(batch, photoId, adder));
+
+        Map<Long, LongAdder> idle = new HashMap<>();
+        pending.forEach((photoId, adder) -> {
+            if (!drainInto(batch, photoId, adder) && pending.remove(photoId, adder)) {
+                idle.put(photoId, adder);
+            }
+        });
+        retired = idle;
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            flushTimer.record(() -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (RuntimeException e) {
+            // 반영에 실패한 증감은 버리지 않고 다음 주기에 다시 시도한다.
+            log.error("좋아요 수 반영 실패: {}", e.getMessage());
+            for (Object[] row : batch) {
+                adderOf((Long) row[1]).add((Long) row[0]);
+            }
+        } finally {
+            for (Object[] row : batch) {
+                inFlight.remove((Long) row[1]);
+            }
+        }
+    }
+
+    /**
+     * 다른 flush/reconcile 을 막은 채로 beforeFlush, flush, afterFlush 를 차례로 실행합니다.
+     * afterFlush 가 읽는 like_count 에는 beforeFlush 전에 더해진 증감이 모두 들어 있고, flush 뒤에 더해진 증감은 들어 있지 않습니다.
+     */
+    public synchronized void flushBetween(Runnable beforeFlush, Runnable afterFlush) {
+        beforeFlush.run();
+        flush();
+        afterFlush.run();
+    }
+
+    /**
+     * 최근 증감이 있었던 사진의 like_count 를 likes 행 수로 다시 맞춥니다.
+     * 아직 반영 중인 증감이 남은 사진은 건너뛰고 다음 주기에 맞춥니다.
+     * 커밋 직후 카운터에 더해지기 전 순간에 걸리면 한 번 어긋날 수 있지만, 그 증감으로 다시 대상이 되어 다음 주기에 바로잡힙니다.
+     */
+    @Scheduled(fixedDelayString = "${photo.like-count.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        flush();
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Iterator<Long> it = touched.iterator(); it.hasNext(); ) {
+            Long photoId = it.next();
+            if (pendingDelta(photoId) != 0) {
+                continue;
+            }
+            it.remove();
+            batch.add(new Object[]{photoId});
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(RECONCILE_SQL, batch);
+        } catch (RuntimeException e) {
+            log.error("좋아요 수 보정 실패: {}", e.getMessage());
+            for (Object[] row : batch) {
+                touched.add((Long) row[0]);
+            }
+        }
+    }
+
+    /**
+     * 기동 시 likes 행 수와 어긋난 like_count 를 모두 바로잡습니다.
+     * 직전 프로세스가 반영하지 못하고 죽으면서 잃어버린 증감을 복구합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reconcileAll() {
+        if (!reconcileOnStartup) {
+            return;
+        }
+        flush();
+        try {
+            int fixed = jdbcTemplate.update(RECONCILE_ALL_SQL);
+            if (fixed > 0) {
+                log.warn("좋아요 수가 어긋난 사진 {}건을 보정했습니다.", fixed);
+            }
+        } catch (RuntimeException e) {
+            log.error("좋아요 수 기동 보정 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 애플리케이션 종료 시 남은 증감을 모두 반영합니다.
+     */
+    @PreDestroy
+    public void drain() {
+        flush();
+        // 첫 flush 에서 뺀 카운터에 늦게 들어온 증감까지 반영
+        flush();
+    }
+
+    private boolean drainInto(List<Object[]> batch, Long photoId, LongAdder adder) {
+        // sumThenReset 은 동시에 더해진 값을 잃을 수 있으므로 읽은 만큼만 빼서 비운다.
+        long delta = adder.sum();
+        if (delta == 0) {
+            return false;
+        }
+        // 카운터에서 빼기 전에 반영 중으로 옮겨 두어 읽는 쪽이 그 사이 증감을 놓치지 않게 한다.
+        inFlight.merge(photoId, delta, Long::sum);
+        adder.add(-delta);
+        batch.add(new Object[]{delta, photoId});
+        return true;
+    }
+
+    private LongAdder adderOf(Long photoId) {
+        return pending.computeIfAbsent(photoId, id -> new LongAdder());
+    }
+
+    private double pendingBacklog() {
+        long backlog = 0;
+        for (LongAdder adder : pending.values()) {
+            backlog += Math.abs(adder.sum());
+        }
+        return backlog;
+    }
+}
@@ -1,50 +1,98 @@
 package hairwhere.hairwhere.service;
 
 import hairwhere.hairwhere.domain.Like;
-import hairwhere.hairwhere.domain.Photo;
 import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.CursorPage;
+import hairwhere.hairwhere.dto.LikerResponse;
 import hairwhere.hairwhere.repository.LikeRepository;
-import hairwhere.hairwhere.repository.UserRepository;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class LikeService {
-    private final UserRepository userRepository;
+    private static final int MAX_LIKER_PAGE_SIZE = 100;
+
     private final LikeRepository likeRepository;
+    private final PhotoRepository photoRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final PhotoService photoService;
-    private final UserService userService;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * 좋아요를 토글합니다. 좋아요가 삭제되었으면 true, 추가되었으면 false.
+     * like_count 는 실제로 행이 추가/삭제된 경우에만 증감하므로 동시 요청에도 행 수와 일치합니다.
+     * 증감은 LikeChangedEvent 로 발행되어 커밋 후 LikeCountBuffer 에 모였다가 주기적으로 DB 에 반영됩니다.
+     */
     @Transactional
-    public boolean isLiked(Long photoId, Long kakaoId) {
-        Photo photo = photoService.findById2(photoId);
-        User user = userRepository.findByKakaoId(kakaoId)
-            .orElse(null);
+    public boolean isLiked(Long photoId, Long userId) {
+        PhotoRepository.LikeTargetView target = findPhoto(photoId);
+
+        if (likeRepository.deleteByPhotoIdAndUserId(photoId, userId) > 0) {// 좋아요가 되어있으니 좋아요 -1해야함
+            changeLikeCount(target, -1);
+            countToggle("toggle", "removed");
+            return true;
+        }
 
-        Optional<Like> isLiked = likeRepository.findByUserAndPhoto(user,photo);
+        // 좋아요가 안되어있으니 좋아요+1 해야함
+        countToggle("toggle", insertLike(target, userId) ? "added" : "unchanged");
+        return false;
+    }
 
-        if(isLiked.isPresent()){// 좋아요가 되어있으니 좋아요 -1해야함
-            likeRepository.delete(isLiked.get());
-            photo.decreaseLikeCount();
-            photoService.save(photo);
+    /**
+     * 좋아요를 추가합니다. 이미 좋아요한 상태면 아무것도 하지 않습니다(멱등).
+     */
+    @Transactional
+    public void like(Long photoId, Long userId) {
+        countToggle("like", insertLike(findPhoto(photoId), userId) ? "added" : "unchanged");
+    }
 
-            return true;
+    /**
+     * 좋아요를 취소합니다. 좋아요하지 않은 상태면 아무것도 하지 않습니다(멱등).
+     */
+    @Transactional
+    public void unlike(Long photoId, Long userId) {
+        if (likeRepository.deleteByPhotoIdAndUserId(photoId, userId) > 0) {
+            changeLikeCount(findPhoto(photoId), -1);
+            countToggle("unlike", "removed");
+            return;
         }
-        else{// 좋아요가 안되어있으니 좋아요+1 해야함
-            Like like = new Like(photo,user);
-            likeRepository.save(like);
-            photo.increaseLikeCount();
-            photoService.save(photo);
+        countToggle("unlike", "unchanged");
+    }
 
-            return false;
+    // 실제로 행이 추가되었으면 true
+    private boolean insertLike(PhotoRepository.LikeTargetView target, Long userId) {
+        if (likeRepository.insertIfAbsent(target.getId(), userId) > 0) {
+            changeLikeCount(target, 1);
+            return true;
         }
+        return false;
+    }
+
+    // action: toggle/like/unlike, result: added/removed/unchanged. 지연 시간은 http.server.requests 에 남는다.
+    private void countToggle(String action, String result) {
+        meterRegistry.counter("photo.like.toggles", "action", action, "result", result).increment();
+    }
+
+    // 좋아요 수를 들고 있는 카운터/캐시/집계는 커밋된 뒤 이 이벤트를 받아 각자 반영한다.
+    private void changeLikeCount(PhotoRepository.LikeTargetView target, int delta) {
+        eventPublisher.publishEvent(new LikeChangedEvent(target.getId(), target.getHairSalon(), target.getGender(), delta));
+    }
+
+    // 존재 확인과 함께 미용실 집계/trending 에 쓸 hairSalon, gender 를 가져온다. existsById 와 같은 PK 조회 한 번이다.
+    private PhotoRepository.LikeTargetView findPhoto(Long photoId) {
+        return photoRepository.findLikeTargetById(photoId)
+            .orElseThrow(() -> new IllegalArgumentException("해당 사진이 없습니다."));
     }
 
     @Transactional
@@ -52,13 +100,25 @@ public class LikeService {
         return likeRepository.findByUser(user);
     }
 
-    public List<User> getUserWhoPhotoLiked(Photo photo){
-        List<Like> likes = likeRepository.findByPhoto(photo);
+    /**
+     * 사진에 좋아요한 사용자 목록을 최근 순으로 size 명씩 반환합니다. size 는 1 ~ MAX_LIKER_PAGE_SIZE 로 맞춥니다.
+     * cursor 는 이전 페이지의 nextCursor 이고, 첫 페이지는 null 입니다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LikerResponse> getUserWhoPhotoLiked(Long photoId, String cursor, int size) {
+        long likeCursor = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                likeCursor = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 커서입니다.");
+            }
+        }
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_LIKER_PAGE_SIZE);
+        List<LikerResponse> likers = likeRepository.findLikers(photoId, likeCursor, PageRequest.of(0, pageSize + 1));
 
-        // Like 엔티티에서 User 엔티티를 추출하여 리스트로 변환 후 반환합니다.
-        return likes.stream()
-            .map(Like::getUser)  // Like 엔티티에서 User 엔티티 추출
-            .collect(Collectors.toList());
+        return CursorPage.of(likers, pageSize, liker -> String.valueOf(liker.getLikeId()));
     }
 
 }
@@ -0,0 +1,116 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.repository.LikeRepository;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Photo 목록을 PhotoResponse 로 변환한다.
+ * 사진마다 이미지 경로/작성자/좋아요를 지연 로딩하는 대신(N+1),
+ * 페이지의 사진 id 로 IN 쿼리를 고정된 횟수만 실행해 한 번에 채운다.
+ * 좋아요한 사용자는 전체가 아니라 미리보기만 채우고, viewerId 가 있으면 viewerHasLiked 를 표시한다.
+ * 좋아요 수에는 아직 DB 에 반영되지 않은 LikeCountBuffer 의 증감을 더한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PhotoResponseAssembler {
+
+    private final PhotoRepository photoRepository;
+    private final LikeRepository likeRepository;
+    private final LikeCountBuffer likeCountBuffer;
+
+    @Value("${photo.liker-preview-size:" + PhotoResponse.LIKER_PREVIEW_SIZE + "}")
+    private int likerPreviewSize;
+
+    public Page<PhotoResponse> toResponses(Page<Photo> photos, Long viewerId) {
+        Map<Long, PhotoResponse> responses = toResponseMap(photos.getContent());
+        markViewerLikes(responses.values(), viewerId);
+        return photos.map(photo -> responses.get(photo.getId()));
+    }
+
+    public List<PhotoResponse> toResponses(List<Photo> photos, Long viewerId) {
+        Map<Long, PhotoResponse> responses = toResponseMap(photos);
+        markViewerLikes(responses.values(), viewerId);
+        return photos.stream()
+            .map(photo -> responses.get(photo.getId()))
+            .collect(Collectors.toList());
+    }
+
+    public PhotoResponse toResponse(Photo photo, Long viewerId) {
+        return toResponses(List.of(photo), viewerId).get(0);
+    }
+
+    /**
+     * viewerId 사용자가 좋아요한 사진에 viewerHasLiked 를 표시한다. 쿼리는 한 번만 실행된다.
+     */
+    public void markViewerLikes(Collection<PhotoResponse> responses, Long viewerId) {
+        if (viewerId == null || responses.isEmpty()) {
+            return;
+        }
+        List<Long> photoIds = responses.stream()
+            .map(PhotoResponse::getId)
+            .collect(Collectors.toList());
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedPhotoIds(viewerId, photoIds));
+        for (PhotoResponse response : responses) {
+            response.setViewerHasLiked(liked.contains(response.getId()));
+        }
+    }
+
+    private Map<Long, PhotoResponse> toResponseMap(List<Photo> photos) {
+        if (photos.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Long> photoIds = photos.stream()
+            .map(Photo::getId)
+            .collect(Collectors.toList());
+
+        Map<Long, List<String>> imagePaths = new HashMap<>();
+        for (PhotoRepository.ImagePathView view : photoRepository.findImagePathsByPhotoIds(photoIds)) {
+            imagePaths.computeIfAbsent(view.getPhotoId(), id -> new ArrayList<>()).add(view.getPath());
+        }
+
+        Map<Long, PhotoRepository.AuthorView> authors = new HashMap<>();
+        for (PhotoRepository.AuthorView view : photoRepository.findAuthorsByPhotoIds(photoIds)) {
+            authors.put(view.getPhotoId(), view);
+        }
+
+        Map<Long, List<String>> likedNickNames = new HashMap<>();
+        for (Object[] row : likeRepository.findLikerPreviewByPhotoIds(photoIds, likerPreviewSize)) {
+            Long photoId = ((Number) row[0]).longValue();
+            likedNickNames.computeIfAbsent(photoId, id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        Map<Long, PhotoResponse> responses = new HashMap<>();
+        for (Photo photo : photos) {
+            PhotoResponse response = PhotoResponse.of(photo,
+                imagePaths.getOrDefault(photo.getId(), new ArrayList<>()));
+            response.setLikeCount((int) (photo.getLikeCount() + likeCountBuffer.pendingDelta(photo.getId())));
+
+            PhotoRepository.AuthorView author = authors.get(photo.getId());
+            if (author != null) {
+                response.setKakaoId(author.getKakaoId());
+                response.setUserProfilePath(author.getProfileImageUrl());
+            }
+
+            response.setLikedNickNames(likedNickNames.getOrDefault(photo.getId(), new ArrayList<>()));
+            responses.put(photo.getId(), response);
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,404 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 사진 속성 검색용 인메모리 비트맵 인덱스.
+ * 속성 값마다 사진 id 의 압축 비트맵(RoaringBitmap)을 두고, 같은 속성의 값들은 OR, 속성끼리는 AND 로 합쳐
+ * 조건에 맞는 id 집합을 DB 없이 구한다. DB 에서는 요청한 페이지의 사진만 id 로 불러온다.
+ * 시작 시 전체 사진을 스트리밍으로 한 번 읽어 만들고, 이후에는 업로드/삭제 시 갱신한다.
+ * id 는 int 범위까지 다룬다.
+ */
+@Slf4j
+@Component
+public class PhotoSearchIndex {
+
+    private final PhotoRepository photoRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<SearchAttribute, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(SearchAttribute.class);
+    // 정규화한 값 -> 처음 들어온 원래 표기. facet 응답에 쓴다.
+    private final Map<SearchAttribute, Map<String, String>> labels = new EnumMap<>(SearchAttribute.class);
+    private final RoaringBitmap all = new RoaringBitmap();
+    // id -> 정렬 키(created). 페이지 정렬에 쓴다. id 는 auto increment 라 배열이 촘촘하다.
+    private long[] createdById = new long[1024];
+
+    // 인덱스를 만드는 동안 삭제된 id. 스캔이 삭제 전에 읽은 행을 다시 넣지 않도록 한다.
+    private final RoaringBitmap removedWhileBuilding = new RoaringBitmap();
+    private volatile boolean building;
+    private volatile boolean ready;
+
+    @Autowired
+    public PhotoSearchIndex(PhotoRepository photoRepository, PlatformTransactionManager transactionManager,
+                            @Value("${photo.search-index.enabled:true}") boolean enabled) {
+        this.photoRepository = photoRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        for (SearchAttribute attribute : SearchAttribute.values()) {
+            bitmaps.put(attribute, new HashMap<>());
+            labels.put(attribute, new HashMap<>());
+        }
+    }
+
+    /**
+     * 벤치마크처럼 스프링 없이 직접 채워 쓰는 용도. 만들자마자 검색할 수 있다.
+     */
+    public PhotoSearchIndex() {
+        this.photoRepository = null;
+        this.readOnlyTransaction = null;
+        this.enabled = true;
+        for (SearchAttribute attribute : SearchAttribute.values()) {
+            bitmaps.put(attribute, new HashMap<>());
+            labels.put(attribute, new HashMap<>());
+        }
+        this.ready = true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        building = true;
+        try {
+            int count = readOnlyTransaction.execute(status -> {
+                int rows = 0;
+                try (Stream<PhotoRepository.SearchRowView> stream = photoRepository.streamSearchRows()) {
+                    for (PhotoRepository.SearchRowView row : (Iterable<PhotoRepository.SearchRowView>) stream::iterator) {
+                        addScanned(row);
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+            ready = true;
+            log.info("사진 검색 인덱스 생성 완료: {}건, {}ms", count, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            // 인덱스가 없으면 DB 검색으로 동작하므로 기동은 막지 않는다.
+            log.error("사진 검색 인덱스 생성 실패: {}", e.getMessage());
+        } finally {
+            building = false;
+            lock.writeLock().lock();
+            try {
+                removedWhileBuilding.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 새 사진을 인덱스에 추가합니다. 트랜잭션 안이면 커밋된 뒤에 반영합니다.
+     */
+    public void add(Photo photo) {
+        TransactionHooks.afterCommit(() -> add(photo.getId(), photo.getHairName(), photo.getHairLength(),
+            photo.getHairColor(), photo.getGender(), photo.getCreated()));
+    }
+
+    /**
+     * 삭제된 사진을 인덱스에서 뺍니다. 트랜잭션 안이면 커밋된 뒤에 반영합니다.
+     */
+    public void remove(Photo photo) {
+        Long id = photo.getId();
+        TransactionHooks.afterCommit(() -> remove(id));
+    }
+
+    public void add(long id, String hairName, String hairLength, String hairColor, String gender, LocalDateTime created) {
+        int key = toKey(id);
+        lock.writeLock().lock();
+        try {
+            index(key, SearchAttribute.HAIR_NAME, hairName);
+            index(key, SearchAttribute.HAIR_LENGTH, hairLength);
+            index(key, SearchAttribute.HAIR_COLOR, hairColor);
+            index(key, SearchAttribute.GENDER, gender);
+            setCreated(key, created);
+            all.add(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        int key = toKey(id);
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                removedWhileBuilding.add(key);
+            }
+            // 속성 값 종류는 많지 않으므로 모든 값 비트맵에서 지운다.
+            for (Map<String, RoaringBitmap> values : bitmaps.values()) {
+                for (RoaringBitmap bitmap : values.values()) {
+                    bitmap.remove(key);
+                }
+            }
+            all.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 조건에 맞는 사진 id 를 정렬해 요청한 페이지만큼 반환합니다.
+     * 인덱스가 준비되지 않았거나 지원하지 않는 정렬(created, id 이외)이면 null 을 반환하고 호출자가 DB 로 검색합니다.
+     */
+    public IdPage search(Map<SearchAttribute, Set<String>> filters, Pageable pageable) {
+        if (!ready) {
+            return null;
+        }
+        Sort.Order order = sortOrderOf(pageable.getSort());
+        if (order == null) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matched = matching(filters, null);
+            long offset = pageable.getOffset();
+            if (offset >= matched.getCardinality()) {
+                return new IdPage(Collections.emptyList(), matched.getLongCardinality());
+            }
+            int limit = pageable.getPageSize();
+            List<Long> ids = "id".equals(order.getProperty())
+                ? pageById(matched, (int) offset, limit, order.isDescending())
+                : pageByCreated(matched, (int) offset, limit, order.isDescending());
+            return new IdPage(ids, matched.getLongCardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 속성별 값 개수를 한 번에 셉니다. 각 속성은 자기 자신의 조건을 뺀 나머지 조건으로 셉니다(다중 선택 facet).
+     * 인덱스가 준비되지 않았으면 null 을 반환합니다.
+     */
+    public FacetCounts facets(Map<SearchAttribute, Set<String>> filters) {
+        if (!ready) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matched = matching(filters, null);
+            Map<SearchAttribute, Map<String, Long>> counts = new EnumMap<>(SearchAttribute.class);
+            for (SearchAttribute attribute : SearchAttribute.values()) {
+                RoaringBitmap base = filters.containsKey(attribute) ? matching(filters, attribute) : matched;
+                Map<String, String> attributeLabels = labels.get(attribute);
+
+                List<Map.Entry<String, Long>> values = new ArrayList<>();
+                for (Map.Entry<String, RoaringBitmap> value : bitmaps.get(attribute).entrySet()) {
+                    long count = RoaringBitmap.andCardinality(base, value.getValue());
+                    if (count > 0) {
+                        values.add(Map.entry(attributeLabels.get(value.getKey()), count));
+                    }
+                }
+                values.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+                Map<String, Long> sorted = new LinkedHashMap<>();
+                for (Map.Entry<String, Long> value : values) {
+                    sorted.put(value.getKey(), value.getValue());
+                }
+                counts.put(attribute, sorted);
+            }
+            return new FacetCounts(matched.getLongCardinality(), counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * filters 를 만족하는 id 비트맵. excluded 속성의 조건은 무시한다(null 이면 모두 적용).
+     * 호출자는 읽기 락을 잡고 있어야 한다.
+     */
+    RoaringBitmap matching(Map<SearchAttribute, Set<String>> filters, SearchAttribute excluded) {
+        RoaringBitmap result = null;
+        for (Map.Entry<SearchAttribute, Set<String>> filter : filters.entrySet()) {
+            if (filter.getKey() == excluded) {
+                continue;
+            }
+            Map<String, RoaringBitmap> values = bitmaps.get(filter.getKey());
+            List<RoaringBitmap> selected = new ArrayList<>();
+            for (String value : filter.getValue()) {
+                RoaringBitmap bitmap = values.get(normalize(value));
+                if (bitmap != null) {
+                    selected.add(bitmap);
+                }
+            }
+            RoaringBitmap union = FastAggregation.or(selected.iterator());
+            result = result == null ? union : RoaringBitmap.and(result, union);
+            if (result.isEmpty()) {
+                return result;
+            }
+        }
+        return result == null ? all.clone() : result;
+    }
+
+    private List<Long> pageById(RoaringBitmap matched, int offset, int limit, boolean descending) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, matched.getCardinality() - offset));
+        IntIterator iterator = descending ? matched.getReverseIntIterator() : matched.getIntIterator();
+        int skipped = 0;
+        while (iterator.hasNext() && ids.size() < limit) {
+            int key = iterator.next();
+            if (skipped++ < offset) {
+                continue;
+            }
+            ids.add((long) key);
+        }
+        return ids;
+    }
+
+    private List<Long> pageByCreated(RoaringBitmap matched, int offset, int limit, boolean descending) {
+        // offset + limit 개만 유지하는 힙으로 상위 K 개를 고른다. 힙의 맨 위는 지금까지 고른 것 중 가장 뒤에 올 사진.
+        // 힙 크기는 일치한 사진 수를 넘지 않는다. (search 에서 offset 이 그보다 작음을 확인했다)
+        int k = (int) Math.min((long) offset + limit, matched.getCardinality());
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k, (a, b) -> -compareByCreated(a, b, descending));
+        IntIterator iterator = matched.getIntIterator();
+        while (iterator.hasNext()) {
+            int key = iterator.next();
+            if (heap.size() < k) {
+                heap.add(key);
+            } else if (compareByCreated(key, heap.peek(), descending) < 0) {
+                heap.poll();
+                heap.add(key);
+            }
+        }
+
+        int[] sorted = new int[heap.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = heap.poll();
+        }
+        List<Long> ids = new ArrayList<>(sorted.length - offset);
+        for (int i = offset; i < sorted.length; i++) {
+            ids.add((long) sorted[i]);
+        }
+        return ids;
+    }
+
+    // 정렬 순서상 a 가 앞이면 음수. created 가 같으면 id 로 정한다.
+    private int compareByCreated(int a, int b, boolean descending) {
+        int result = Long.compare(createdOf(a), createdOf(b));
+        if (result == 0) {
+            result = Integer.compare(a, b);
+        }
+        return descending ? -result : result;
+    }
+
+    private Sort.Order sortOrderOf(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.desc("created");
+        }
+        // PhotoSort 처럼 뒤에 같은 방향의 id 가 붙은 정렬도 받는다. 인덱스도 같은 값이면 id 로 정렬한다.
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.get(0);
+        if (!"created".equals(order.getProperty()) && !"id".equals(order.getProperty())) {
+            return null;
+        }
+        for (Sort.Order next : orders.subList(1, orders.size())) {
+            if (!"id".equals(next.getProperty()) || next.getDirection() != order.getDirection()) {
+                return null;
+            }
+        }
+        return order;
+    }
+
+    private void addScanned(PhotoRepository.SearchRowView row) {
+        lock.writeLock().lock();
+        try {
+            if (removedWhileBuilding.contains(toKey(row.getId()))) {
+                return;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        add(row.getId(), row.getHairName(), row.getHairLength(), row.getHairColor(), row.getGender(), row.getCreated());
+    }
+
+    private void index(int key, SearchAttribute attribute, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String normalized = normalize(value);
+        bitmaps.get(attribute)
+            .computeIfAbsent(normalized, v -> new RoaringBitmap())
+            .add(key);
+        labels.get(attribute).putIfAbsent(normalized, value);
+    }
+
+    private void setCreated(int key, LocalDateTime created) {
+        if (key >= createdById.length) {
+            createdById = Arrays.copyOf(createdById, (int) Math.min(Integer.MAX_VALUE - 8L, Math.max(key + 1L, createdById.length * 2L)));
+        }
+        createdById[key] = created == null
+            ? Long.MIN_VALUE
+            : created.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + created.getNano();
+    }
+
+    private long createdOf(int key) {
+        return key < createdById.length ? createdById[key] : Long.MIN_VALUE;
+    }
+
+    private static int toKey(long id) {
+        if (id < 0 || id > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("검색 인덱스가 지원하지 않는 id 입니다: " + id);
+        }
+        return (int) id;
+    }
+
+    // MySQL 기본 collation 처럼 대소문자를 구분하지 않는다.
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class FacetCounts {
+        private final long total;
+        private final Map<SearchAttribute, Map<String, Long>> counts;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class IdPage {
+        private final List<Long> ids;
+        private final long total;
+    }
+}
@@ -1,54 +1,92 @@
 package hairwhere.hairwhere.service;
 
-import hairwhere.hairwhere.domain.Like;
+import hairwhere.hairwhere.domain.GeoHash;
+import hairwhere.hairwhere.domain.GeoPoint;
 import hairwhere.hairwhere.domain.Photo;
 import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.CursorPage;
+import hairwhere.hairwhere.dto.FeedCursor;
 import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.dto.SearchFacetResponse;
 import hairwhere.hairwhere.dto.SearchRequest;
 import hairwhere.hairwhere.dto.UploadRequest;
 import hairwhere.hairwhere.repository.PhotoRepository;
+import hairwhere.hairwhere.repository.PhotoSpecifications;
 import hairwhere.hairwhere.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.io.UnsupportedEncodingException;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PhotoService {
     private final PhotoRepository photorepository;
     private final GCPStorageService gcpStorageService;
+    private final PhotoResponseAssembler photoResponseAssembler;
+    private final PhotoSearchIndex photoSearchIndex;
+    private final FeedPageCache feedPageCache;
+    private final ContentVersions contentVersions;
+    private final Geocoder geocoder;
+    private final SalonDirectory salonDirectory;
+    private final TrendingEngine trendingEngine;
+    private final BlobDeletionWorker blobDeletionWorker;
+    @Qualifier("uploadExecutor")
+    private final Executor uploadExecutor;
 
     private final int MIN_RANDOM_NUM = 1;
+    private static final int MAX_FEED_SIZE = 100;
+    // 페이지 번호 검색은 앞 페이지를 모두 건너뛰어야 하므로 offset + size 를 이 깊이까지만 허용한다. 더 깊이는 /photo/feed/search 로 본다.
+    private static final int MAX_SEARCH_DEPTH = 10_000;
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    // 주변 검색은 geohash 셀마다 외접 사각형 안의 후보를 이 단위로 읽어 실제 거리로 거른다.
+    private static final int NEARBY_BATCH_SIZE = 100;
+    // 커서 피드 정렬. (created, id) 가 유일하므로 seek 위치가 항상 하나로 정해진다.
+    private static final Sort FEED_SORT = Sort.by(Sort.Direction.DESC, "created")
+        .and(Sort.by(Sort.Direction.DESC, "id"));
+    // 메모리에서 FEED_SORT 와 같은 순서로 비교한다.
+    private static final Comparator<Photo> FEED_ORDER = Comparator.comparing(Photo::getCreated)
+        .thenComparing(Photo::getId)
+        .reversed();
     //private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     private final UserRepository userRepository;
 
-    @Transactional
+    /**
+     * 이미지를 GCS 에 병렬로 올린 뒤 사진을 저장합니다.
+     * 업로드는 트랜잭션 밖에서 끝나므로 DB 커넥션은 save 하는 동안만 사용하고,
+     * 전체 지연 시간은 파일들의 합이 아니라 가장 느린 파일을 따라갑니다.
+     * 업로드나 저장에 실패하면 이미 올라간 이미지는 지웁니다.
+     */
     public Long upload(String nickname, MultipartFile[] image,
                        int likeCount, LocalDateTime created, User user, UploadRequest uploadRequest) {
-        List<String> imagePaths = new ArrayList<>();
-
-        for(MultipartFile file : image) {
-            try {
-                String imagePath = gcpStorageService.upload(file);
-                imagePaths.add(imagePath);
-            }
-            catch (Exception e) {
-                //logger.error("Error uploading file to NCP", e);
-                throw new RuntimeException("파일 업로드 중 오류가 발생했습니다.", e);
-            }
-        }
+        // 잘못된 좌표는 이미지를 올리기 전에 거른다.
+        GeoPoint location = locate(uploadRequest);
+        List<String> imagePaths = uploadImages(image);
 
         String hairName = uploadRequest.getHairName();
         String text = uploadRequest.getText();
@@ -61,6 +99,7 @@ public class PhotoService {
         Photo photo = Photo.builder()
             .nickname(nickname)
             .photoImagePath(imagePaths)
+            .imageVariants(true)
             .likeCount(likeCount)
             .hairName(hairName)
             .text(text)
@@ -72,26 +111,97 @@ public class PhotoService {
             .hairColor(hairColor)
             .user(user)
             .build();
+        photo.locateAt(location);
 
-        photorepository.save(photo);
+        try {
+            photorepository.save(photo);
+        } catch (RuntimeException e) {
+            deleteImagesQuietly(imagePaths);
+            throw e;
+        }
+        photoSearchIndex.add(photo);
+        salonDirectory.photoAdded(photo);
+        feedPageCache.invalidateAll();
+        contentVersions.feedChanged();
         return photo.getId();
     }
 
+    /**
+     * 업로드에 좌표가 있으면 그 좌표를, 없으면 미용실 주소로 찾은 좌표를 사용합니다. 둘 다 없으면 null.
+     */
+    private GeoPoint locate(UploadRequest uploadRequest) {
+        if (uploadRequest.getLatitude() != null || uploadRequest.getLongitude() != null) {
+            return GeoPoint.of(uploadRequest.getLatitude(), uploadRequest.getLongitude());
+        }
+        String address = uploadRequest.getHairSalonAddress();
+        if (address == null || address.isBlank()) {
+            return null;
+        }
+        try {
+            return geocoder.geocode(address).orElse(null);
+        } catch (RuntimeException e) {
+            // 좌표를 못 찾아도 업로드는 계속한다. 주변 검색에만 나오지 않는다.
+            log.warn("주소 좌표 변환 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private List<String> uploadImages(MultipartFile[] images) {
+        List<CompletableFuture<String>> uploads = new ArrayList<>();
+        for (MultipartFile file : images) {
+            uploads.add(CompletableFuture.supplyAsync(() -> gcpStorageService.upload(file), uploadExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            // 성공한 업로드만 골라 지운다. 입력 순서를 유지하기 위해 목록 순서대로 확인한다.
+            List<String> uploaded = new ArrayList<>();
+            for (CompletableFuture<String> upload : uploads) {
+                if (!upload.isCompletedExceptionally()) {
+                    uploaded.add(upload.join());
+                }
+            }
+            deleteImagesQuietly(uploaded);
+            // 잘못된 파일(IllegalArgumentException)은 그대로 넘겨야 컨트롤러가 400 으로 응답한다.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("파일 업로드 중 오류가 발생했습니다.", e.getCause());
+        }
+
+        List<String> imagePaths = new ArrayList<>();
+        for (CompletableFuture<String> upload : uploads) {
+            imagePaths.add(upload.join());
+        }
+        return imagePaths;
+    }
+
+    private void deleteImagesQuietly(List<String> imagePaths) {
+        for (String imagePath : imagePaths) {
+            try {
+                gcpStorageService.deleteImageFromGCP(imagePath);
+            } catch (RuntimeException e) {
+                log.warn("업로드 실패 후 이미지 정리 실패: {}", imagePath);
+            }
+        }
+    }
+
     @Transactional
-    public Page<PhotoResponse> findByHairSalon(String hairSalon, Pageable pageable){
+    public Page<PhotoResponse> findByHairSalon(String hairSalon, Pageable pageable, Long viewerId){
         Page<Photo> photo = photorepository.findByHairSalon(hairSalon,pageable);
-        return photo.map(PhotoResponse::fromEntity);
+        return photoResponseAssembler.toResponses(photo, viewerId);
     }
 
     @Transactional
-    public Page<PhotoResponse> findByHairSalonAddress(String hairSalonAddress,Pageable pageable){
+    public Page<PhotoResponse> findByHairSalonAddress(String hairSalonAddress,Pageable pageable, Long viewerId){
         Page<Photo> photo = photorepository.findByHairSalonAddress(hairSalonAddress,pageable);
-        return photo.map(PhotoResponse::fromEntity);
+        return photoResponseAssembler.toResponses(photo, viewerId);
     }
 
     @Transactional
-    public PhotoResponse findById(Long id) {
-        return findPhotoById(id);
+    public PhotoResponse findById(Long id, Long viewerId) {
+        return findPhotoById(id, viewerId);
     }
 
     @Transactional
@@ -99,27 +209,39 @@ public class PhotoService {
         return findPhotoById2(id);
     }
 
-    @Transactional
-    public Page<PhotoResponse> findByGender(String gender,Pageable pageable) {
-        Page<Photo> photo = photorepository.findByGender(gender,pageable);
-        return photo.map(PhotoResponse::fromEntity);
+    // 앞쪽 페이지는 FeedPageCache 에서 꺼낸다.
+    @Transactional(readOnly = true)
+    public Page<PhotoResponse> findByGender(String gender,Pageable pageable, Long viewerId) {
+        return feedPageCache.get("gender:" + gender, pageable, viewerId, () -> {
+            Page<Photo> photo = photorepository.findByGender(gender,pageable);
+            return photoResponseAssembler.toResponses(photo, null);
+        });
     }
 
-    @Transactional
-    public Page<PhotoResponse> findAll(Pageable pageable) {
-        Page<Photo> photoPage = photorepository.findAll(pageable);
-        return photoPage.map(PhotoResponse::fromEntity);
+    @Transactional(readOnly = true)
+    public Page<PhotoResponse> findAll(Pageable pageable, Long viewerId) {
+        return feedPageCache.get("all", pageable, viewerId, () -> {
+            Page<Photo> photoPage = photorepository.findAll(pageable);
+            return photoResponseAssembler.toResponses(photoPage, null);
+        });
     }
 
+    /**
+     * 올린 사용자 본인이면 사진을 삭제합니다. 닉네임은 바뀔 수 있으므로 사용자 id 로 확인합니다.
+     */
     @Transactional
-    public String deletePhoto(Long photoId, String name) {
+    public String deletePhoto(Long photoId, Long userId) {
         Photo photo = findPhotoById2(photoId);
 
-        if(validateUserName(name, photo.getNickname())){
-            for(String imagePath : photo.getPhotoImagePath()) {
-                gcpStorageService.deleteImageFromGCP(imagePath);
-            }
+        if(isOwner(photo, userId)){
+            // 이미지는 같은 트랜잭션에 삭제 요청만 남기고, 커밋된 뒤 BlobDeletionWorker 가 지운다.
+            blobDeletionWorker.enqueue(new ArrayList<>(photo.getPhotoImagePath()));
             photorepository.delete(photo);
+            photoSearchIndex.remove(photo);
+            salonDirectory.photoRemoved(photo);
+            trendingEngine.remove(photoId);
+            feedPageCache.invalidateAll();
+            contentVersions.photoChanged(photoId);
             return "삭제 완료";
         }
         else{
@@ -128,28 +250,15 @@ public class PhotoService {
     }
 
     @Transactional
-    public Page<PhotoResponse> findByUserNickName(String nickname,Pageable pageable) {
+    public Page<PhotoResponse> findByUserNickName(String nickname,Pageable pageable, Long viewerId) {
         Page<Photo> photo = photorepository.findByUserNickName(nickname,pageable);
-        return photo.map(PhotoResponse::fromEntity);
+        return photoResponseAssembler.toResponses(photo, viewerId);
     }
 
-    @Transactional
-    public void addLikeCount(Long photoId) {
-        Photo photo = findById2(photoId);
-        photo.increaseLikeCount();
-    }
-
-    @Transactional
-    public void deleteLikeCount(Long photoId) {
+    private PhotoResponse findPhotoById(Long photoId, Long viewerId) {
         Photo photo = photorepository.findById(photoId)
             .orElseThrow(() -> new IllegalArgumentException("해당 사진이 없습니다."));
-        photo.decreaseLikeCount();
-    }
-
-    private PhotoResponse findPhotoById(Long photoId) {
-        Photo photo = photorepository.findById(photoId)
-            .orElseThrow(() -> new IllegalArgumentException("해당 사진이 없습니다."));
-        return PhotoResponse.fromEntity(photo);
+        return photoResponseAssembler.toResponse(photo, viewerId);
     }
 
     private Photo findPhotoById2(Long photoId) {
@@ -157,7 +266,7 @@ public class PhotoService {
             .orElseThrow(() -> new IllegalArgumentException("해당 사진이 없습니다."));
     }
 
-    public Page<PhotoResponse> findByKakaoId(Long kakaoId, Pageable pageable) {
+    public Page<PhotoResponse> findByKakaoId(Long kakaoId, Pageable pageable, Long viewerId) {
 //        User user = userRepository.findByKakaoId(kakaoId)
 //            .orElseThrow(() -> new IllegalArgumentException("해당 사용자가 없습니다."));
 //
@@ -167,65 +276,250 @@ public class PhotoService {
 
         Page<Photo> photo = photorepository.findByKakaoId(kakaoId,pageable);
 
-        return photo.map(PhotoResponse::fromEntity);
+        return photoResponseAssembler.toResponses(photo, viewerId);
     }
 
-    public void save(Photo photo) {
-        photorepository.save(photo);
+    @Transactional(readOnly = true)
+    public Page<PhotoResponse> findLikedPhotosByUser(Long userId, Pageable pageable) {
+        // 좋아요 목록 전체를 불러와 자르는 대신 DB 에서 필요한 페이지만 조회
+        Page<Photo> photo = photorepository.findLikedByUserId(userId, pageable);
+
+        return photoResponseAssembler.toResponses(photo, userId);
     }
 
-    public Page<PhotoResponse> findLikedPhotosByUser(List<Like> likes, Pageable pageable) {
-        if (likes.isEmpty()) {
-            //logger.error("예외처리에 의한 빈 likes" );
-            return Page.empty();
+    /**
+     * 속성 검색. 값에 쉼표가 있으면 그 값들 중 하나(OR)와 일치하는 사진을 찾습니다.
+     * 검색 인덱스가 준비되어 있으면 id 집합을 메모리에서 구하고 해당 페이지의 사진만 DB 에서 불러옵니다.
+     * 페이지 크기는 MAX_FEED_SIZE 로 줄이고, MAX_SEARCH_DEPTH 보다 깊은 페이지는 400 으로 거절합니다.
+     */
+    @Transactional(readOnly = true)
+    public Page<PhotoResponse> search(SearchRequest searchRequest, Pageable pageable, Long viewerId) {
+        if (pageable.getPageSize() > MAX_FEED_SIZE) {
+            pageable = PageRequest.of(pageable.getPageNumber(), MAX_FEED_SIZE, pageable.getSort());
         }
+        if (pageable.getOffset() + pageable.getPageSize() > MAX_SEARCH_DEPTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "검색 결과는 앞쪽 " + MAX_SEARCH_DEPTH + "건까지만 페이지로 볼 수 있습니다. 커서 피드를 사용해 주세요.");
+        }
+        Map<SearchAttribute, Set<String>> filters = SearchAttribute.filtersOf(searchRequest);
 
-        if(pageable.getPageNumber() < 0){
-            //logger.error("page getPageNumber값이 < 0");
-            return Page.empty();
+        PhotoSearchIndex.IdPage idPage = photoSearchIndex.search(filters, pageable);
+        if (idPage != null) {
+            List<Photo> photos = findAllByIdInOrder(idPage.getIds());
+            return new PageImpl<>(photoResponseAssembler.toResponses(photos, viewerId), pageable, idPage.getTotal());
         }
 
-        if(pageable.getPageSize() <= 0){
-            //logger.error("page getPageSize() <= 0");
-            return Page.empty();
+        // 인덱스가 아직 없거나 인덱스가 지원하지 않는 정렬이면 DB 에서 검색
+        Page<Photo> photo = photorepository.findAll(filterOf(filters), pageable);
+
+        return photoResponseAssembler.toResponses(photo, viewerId);
+    }
+
+    /**
+     * 검색 조건에 대한 속성별 값 개수. 검색 인덱스에서 한 번에 계산하고,
+     * 인덱스가 아직 없으면 속성마다 GROUP BY 쿼리 한 번씩으로 계산합니다.
+     */
+    @Transactional(readOnly = true)
+    public SearchFacetResponse searchFacets(SearchRequest searchRequest) {
+        Map<SearchAttribute, Set<String>> filters = SearchAttribute.filtersOf(searchRequest);
+
+        PhotoSearchIndex.FacetCounts facetCounts = photoSearchIndex.facets(filters);
+        if (facetCounts != null) {
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            facetCounts.getCounts().forEach((attribute, counts) -> facets.put(attribute.getProperty(), counts));
+            return new SearchFacetResponse(facetCounts.getTotal(), facets);
+        }
+
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        for (SearchAttribute attribute : SearchAttribute.values()) {
+            // 자기 자신의 조건은 빼고 센다.
+            Map<SearchAttribute, Set<String>> others = new EnumMap<>(SearchAttribute.class);
+            others.putAll(filters);
+            others.remove(attribute);
+            facets.put(attribute.getProperty(), photorepository.countGroupedBy(attribute.getProperty(), filterOf(others)));
+        }
+        return new SearchFacetResponse(photorepository.count(filterOf(filters)), facets);
+    }
+
+    // 값이 있는 조건만 쿼리에 포함
+    private Specification<Photo> filterOf(Map<SearchAttribute, Set<String>> filters) {
+        Specification<Photo> spec = null;
+        for (Map.Entry<SearchAttribute, Set<String>> filter : filters.entrySet()) {
+            spec = Specification.where(spec).and(PhotoSpecifications.in(filter.getKey().getProperty(), filter.getValue()));
+        }
+        return spec;
+    }
+
+    private List<Photo> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Photo> photos = new HashMap<>();
+        for (Photo photo : photorepository.findAllById(ids)) {
+            photos.put(photo.getId(), photo);
+        }
+        List<Photo> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Photo photo = photos.get(id);
+            if (photo != null) {
+                ordered.add(photo);
+            }
         }
+        return ordered;
+    }
 
-        List<Photo> photos = likes.stream()
-            .map(Like::getPhoto)
-            .collect(Collectors.toList());
+    /**
+     * 인기 급상승 사진. 순위는 TrendingEngine 에서 읽고, DB 에서는 그 사진들만 id 로 불러온다.
+     * gender 가 없으면 전체 순위입니다.
+     */
+    @Transactional(readOnly = true)
+    public List<PhotoResponse> findTrending(String gender, int size, Long viewerId) {
+        int limit = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        List<Long> photoIds = trendingEngine.top(gender == null || gender.isBlank() ? null : gender, limit);
+        return photoResponseAssembler.toResponses(findAllByIdInOrder(photoIds), viewerId);
+    }
 
-        int start = (int) pageable.getOffset();  // 페이지 시작 인덱스
-        int end = Math.min((start + pageable.getPageSize()), photos.size());
-        // 페이지 끝 인덱스
-        Page<Photo> photo = new PageImpl<>(photos.subList(start, end), pageable, photos.size());
+    /**
+     * 커서 기반 피드들. 최신순(created, id 내림차순)으로 size 개씩, COUNT 쿼리 없이 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoResponse> findAllFeed(String cursor, int size, Long viewerId) {
+        return findFeed(null, cursor, size, viewerId);
+    }
 
-        return photo.map(PhotoResponse::fromEntity);
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoResponse> findByGenderFeed(String gender, String cursor, int size, Long viewerId) {
+        return findFeed(PhotoSpecifications.equalTo("gender", gender), cursor, size, viewerId);
     }
 
-    public Page<PhotoResponse> search(SearchRequest searchRequest, Pageable pageable) throws UnsupportedEncodingException {
-        String hairName = searchRequest.getHairName();
-        String hairLength = searchRequest.getHairLength();
-        String hairColor = searchRequest.getHairColor();
-        String gender = searchRequest.getGender();
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoResponse> findByHairSalonFeed(String hairSalon, String cursor, int size, Long viewerId) {
+        return findFeed(PhotoSpecifications.equalTo("hairSalon", hairSalon), cursor, size, viewerId);
+    }
 
-        // null 체크를 추가하여 디코딩
-        String decodeHairName = hairName != null ? URLDecoder.decode(hairName, StandardCharsets.UTF_8) : null;
-        String decodeHairLength = hairLength != null ? URLDecoder.decode(hairLength, StandardCharsets.UTF_8) : null;
-        String decodeHairColor = hairColor != null ? URLDecoder.decode(hairColor, StandardCharsets.UTF_8) : null;
-        String decodeGender = gender != null ? URLDecoder.decode(gender, StandardCharsets.UTF_8) : null;
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoResponse> findByKakaoIdFeed(Long kakaoId, String cursor, int size, Long viewerId) {
+        return findFeed(PhotoSpecifications.equalTo("kakaoId", kakaoId), cursor, size, viewerId);
+    }
 
-        Page<Photo> photo = photorepository.search(decodeHairName,decodeHairLength,decodeHairColor,decodeGender,pageable);
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoResponse> searchFeed(SearchRequest searchRequest, String cursor, int size, Long viewerId) {
+        return findFeed(filterOf(SearchAttribute.filtersOf(searchRequest)), cursor, size, viewerId);
+    }
+
+    private CursorPage<PhotoResponse> findFeed(Specification<Photo> filter, String cursor, int size, Long viewerId) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        Specification<Photo> spec = Specification.where(filter)
+            .and(PhotoSpecifications.after(FeedCursor.decode(cursor)));
+
+        // 한 개를 더 가져와 다음 페이지 존재 여부를 판단
+        List<Photo> photos = photorepository.findBy(spec, query -> query
+            .sortBy(FEED_SORT)
+            .limit(pageSize + 1)
+            .all());
 
-        return photo.map(PhotoResponse::fromEntity);
+        return toCursorPage(photos, pageSize, viewerId);
     }
 
-    private boolean validateUserName(String userName, String photoName) {
-        if (!photoName.equals(userName)) {
-            return false;
+    /**
+     * (latitude, longitude) 에서 radiusKm 안의 사진을 최신순으로 size 개씩 조회합니다.
+     * 반경을 덮는 geohash 셀(최대 9개)마다 따로 (created, id) 순으로 읽어 병합하고, 후보는 실제 거리로 한 번 더 거릅니다.
+     * <p>
+     * 셀 하나의 쿼리는 idx_photo_geohash_created 로 그 셀의 geohash 범위만 읽지만, 범위 안의 geohash 가 여러 값이라
+     * created 순서는 인덱스로 나오지 않아 셀 안의 행을 정렬(LIMIT 이 있는 top-N 정렬)합니다.
+     * 셀 크기는 반경 정도로 고르므로 한 번에 정렬하는 행은 반경 주변 사진 수에 비례하고, 다 읽은 셀은 다음 배치부터 조회하지 않습니다.
+     * 첫 페이지는 셀 수만큼 쿼리를 보냅니다.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PhotoResponse> findNearby(Double latitude, Double longitude, double radiusKm,
+                                                String cursor, int size, Long viewerId) {
+        GeoPoint center = GeoPoint.of(latitude, longitude);
+        if (!(radiusKm > 0 && radiusKm <= MAX_NEARBY_RADIUS_KM)) {
+            throw new IllegalArgumentException("반경은 0km 보다 크고 " + (int) MAX_NEARBY_RADIUS_KM + "km 이하여야 합니다.");
         }
-        else{
-            return true;
+        int pageSize = Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+
+        GeoHash.Area area = GeoHash.area(center, radiusKm);
+        Specification<Photo> inBox = Specification
+            .where(PhotoSpecifications.between("latitude", area.getMinLatitude(), area.getMaxLatitude()))
+            .and(PhotoSpecifications.between("longitude", area.getMinLongitude(), area.getMaxLongitude()));
+        FeedCursor position = FeedCursor.decode(cursor);
+        // 같은 길이의 서로 다른 접두사이므로 셀끼리 겹치는 사진은 없다.
+        List<NearbyCell> cells = new ArrayList<>();
+        for (String prefix : area.getPrefixes()) {
+            cells.add(new NearbyCell(inBox.and(PhotoSpecifications.startsWith("geohash", prefix)), position));
         }
+
+        List<Photo> nearby = new ArrayList<>();
+        while (nearby.size() <= pageSize) {
+            NearbyCell newest = null;
+            for (NearbyCell cell : cells) {
+                Photo head = cell.peek();
+                if (head != null && (newest == null || FEED_ORDER.compare(head, newest.peek()) < 0)) {
+                    newest = cell;
+                }
+            }
+            if (newest == null) {
+                break;
+            }
+            Photo photo = newest.poll();
+            if (center.distanceKm(photo.getLatitude(), photo.getLongitude()) <= radiusKm) {
+                nearby.add(photo);
+            }
+        }
+
+        return toCursorPage(nearby, pageSize, viewerId);
+    }
+
+    /**
+     * 주변 검색에서 geohash 셀 하나의 후보를 FEED_SORT 순서로 NEARBY_BATCH_SIZE 개씩 읽는다.
+     */
+    private final class NearbyCell {
+
+        private final Specification<Photo> inCell;
+        private final ArrayDeque<Photo> buffered = new ArrayDeque<>();
+        private FeedCursor position;
+        private boolean exhausted;
+
+        NearbyCell(Specification<Photo> inCell, FeedCursor position) {
+            this.inCell = inCell;
+            this.position = position;
+        }
+
+        // 다음 후보. 셀에 더 없으면 null
+        Photo peek() {
+            if (buffered.isEmpty() && !exhausted) {
+                List<Photo> batch = photorepository.findBy(inCell.and(PhotoSpecifications.after(position)), query -> query
+                    .sortBy(FEED_SORT)
+                    .limit(NEARBY_BATCH_SIZE)
+                    .all());
+                buffered.addAll(batch);
+                exhausted = batch.size() < NEARBY_BATCH_SIZE;
+                if (!batch.isEmpty()) {
+                    Photo last = batch.get(batch.size() - 1);
+                    position = new FeedCursor(last.getCreated(), last.getId());
+                }
+            }
+            return buffered.peekFirst();
+        }
+
+        Photo poll() {
+            return buffered.pollFirst();
+        }
+    }
+
+    // pageSize + 1 개까지 조회한 결과로 커서 페이지를 만든다.
+    private CursorPage<PhotoResponse> toCursorPage(List<Photo> photos, int pageSize, Long viewerId) {
+        boolean hasNext = photos.size() > pageSize;
+        if (hasNext) {
+            photos = photos.subList(0, pageSize);
+        }
+
+        List<PhotoResponse> responses = photoResponseAssembler.toResponses(photos, viewerId);
+        String nextCursor = hasNext ? FeedCursor.of(responses.get(pageSize - 1)).encode() : null;
+        return new CursorPage<>(responses, nextCursor, hasNext);
+    }
+
+    // 프록시의 id 만 읽으므로 작성자를 조회하지 않는다.
+    private boolean isOwner(Photo photo, Long userId) {
+        return photo.getUser() != null && photo.getUser().getId().equals(userId);
     }
 
     public void updateName(String preName,String name){// 이 기능이제 필요없을 듯?
@@ -234,5 +528,6 @@ public class PhotoService {
         for(Photo photo : photos){
             photo.setNickname(name);
         }
+        contentVersions.profilesChanged();
     }
 }
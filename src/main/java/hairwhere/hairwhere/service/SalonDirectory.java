@@ -0,0 +1,402 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 미용실별 집계(사진 수, 좋아요 합, 많이 올라온 스타일, 최근 사진)를 메모리에 들고 있는 디렉터리.
+ * 요청마다 photo 를 GROUP BY 하지 않도록 업로드/삭제/좋아요가 커밋된 뒤 증감으로 갱신하고,
+ * 증감이 어긋난 값은 시작 시와 주기적인 재구성(rebuild)으로 맞춘다.
+ * 인기순 목록은 (좋아요 합, 사진 수, 이름) 순으로 정렬된 상태를 유지하므로 조회 시 정렬하지 않는다.
+ */
+@Slf4j
+@Component
+public class SalonDirectory {
+
+    public static final int TOP_STYLES = 3;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<Salon> POPULARITY = Comparator
+        .comparingLong((Salon salon) -> salon.likeCount).reversed()
+        .thenComparing(Comparator.comparingInt((Salon salon) -> salon.photoCount).reversed())
+        .thenComparing(salon -> salon.name);
+
+    private final PhotoRepository photoRepository;
+    private final LikeCountBuffer likeCountBuffer;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private State state = new State();
+    // 재구성 중에 들어온 변경. 스냅숏 이후에 들어온 것만 새 상태에 다시 적용한 뒤 교체한다.
+    private List<Change> journal;
+    // apply 마다 증가. 스냅숏을 읽기 직전 값과 비교해 스냅숏에 이미 들어 있는 변경을 가린다.
+    private long changes;
+    // 변경마다 증가. 최근 사진을 DB 에서 찾는 사이 집계가 바뀌었는지 확인한다.
+    private final AtomicLong stamps = new AtomicLong();
+
+    public SalonDirectory(PhotoRepository photoRepository, LikeCountBuffer likeCountBuffer,
+                          PlatformTransactionManager transactionManager) {
+        this.photoRepository = photoRepository;
+        this.likeCountBuffer = likeCountBuffer;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * DB 의 GROUP BY 결과로 집계를 다시 만듭니다. 증감 반영 중 생긴 오차를 맞추기 위한 것으로, 요청 경로에서는 실행하지 않습니다.
+     * <p>
+     * 저널은 좋아요 버퍼를 비우기 전에 시작하고, 스냅숏은 버퍼를 비운 뒤 다음 flush 를 막은 채로 읽습니다.
+     * 좋아요는 버퍼를 비우기 직전까지, 사진 추가/삭제는 스냅숏을 읽기 직전까지 적용된 것이 스냅숏에 들어 있으므로
+     * 그 뒤에 적용된 변경만 새 상태에 다시 적용합니다. 커밋(또는 버퍼에 더한 순간)과 적용 사이의 아주 짧은 틈에 걸린 변경만
+     * 다음 재구성까지 어긋날 수 있습니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${salon.directory.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            journal = new ArrayList<>();
+        }
+        try {
+            // 버퍼에 쌓인 좋아요 증감을 먼저 DB 에 반영해야 집계에 포함된다.
+            Snapshot snapshot = new Snapshot();
+            likeCountBuffer.flushBetween(
+                () -> snapshot.likesBefore = appliedChanges(),
+                () -> readOnlyTransaction.executeWithoutResult(status -> {
+                    snapshot.photosBefore = appliedChanges();
+                    snapshot.state = load();
+                }));
+            State rebuilt = snapshot.state;
+            synchronized (this) {
+                for (Change change : journal) {
+                    if (change.sequence > (change.like ? snapshot.likesBefore : snapshot.photosBefore)) {
+                        change.action.accept(rebuilt);
+                    }
+                }
+                state = rebuilt;
+            }
+            log.info("미용실 집계 재구성 완료: {}곳, {}ms", rebuilt.salons.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("미용실 집계 재구성 실패: {}", e.getMessage());
+        } finally {
+            synchronized (this) {
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * 새 사진을 집계에 더합니다. 커밋된 뒤에 반영됩니다.
+     */
+    public void photoAdded(Photo photo) {
+        String name = keyOf(photo.getHairSalon());
+        if (name == null) {
+            return;
+        }
+        Long photoId = photo.getId();
+        String hairName = photo.getHairName();
+        int likeCount = photo.getLikeCount();
+        LocalDateTime created = photo.getCreated();
+
+        TransactionHooks.afterCommit(() -> apply(false, state -> {
+            Salon salon = state.update(name, true);
+            salon.photoCount++;
+            salon.likeCount += likeCount;
+            if (hairName != null) {
+                salon.styles.merge(hairName, 1, Integer::sum);
+            }
+            // 첫 사진이면 그 사진이 최근 사진이다. 최근 사진을 모르는 상태면 그대로 두고 조회 시 DB 에서 찾는다.
+            boolean first = salon.photoCount == 1;
+            if (first || (salon.latestPhotoId != null && created != null && isNewer(created, photoId, salon))) {
+                salon.latestPhotoId = photoId;
+                salon.latestCreated = created;
+            }
+            state.updated(salon);
+        }));
+    }
+
+    /**
+     * 삭제된 사진을 집계에서 뺍니다. 커밋된 뒤에 반영됩니다.
+     */
+    public void photoRemoved(Photo photo) {
+        String name = keyOf(photo.getHairSalon());
+        if (name == null) {
+            return;
+        }
+        Long photoId = photo.getId();
+        String hairName = photo.getHairName();
+        int likeCount = photo.getLikeCount();
+
+        TransactionHooks.afterCommit(() -> {
+            // 아직 DB 에 반영되지 않은 좋아요도 집계에는 이미 더해져 있다.
+            long likes = likeCount + likeCountBuffer.pendingDelta(photoId);
+            apply(false, state -> {
+                Salon salon = state.update(name, false);
+                if (salon == null) {
+                    return;
+                }
+                salon.photoCount--;
+                salon.likeCount -= likes;
+                if (hairName != null) {
+                    salon.styles.computeIfPresent(hairName, (style, count) -> count > 1 ? count - 1 : null);
+                }
+                if (photoId.equals(salon.latestPhotoId)) {
+                    salon.latestPhotoId = null;
+                    salon.latestCreated = null;
+                }
+                state.updated(salon);
+            });
+        });
+    }
+
+    /**
+     * 사진의 좋아요 수가 바뀐 만큼 미용실 좋아요 합을 바꿉니다. 커밋된 뒤에 반영됩니다.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        likeChanged(event.getHairSalon(), event.getDelta());
+    }
+
+    void likeChanged(String hairSalon, int delta) {
+        String name = keyOf(hairSalon);
+        if (name == null) {
+            return;
+        }
+        apply(true, state -> {
+            Salon salon = state.update(name, false);
+            if (salon == null) {
+                return;
+            }
+            salon.likeCount += delta;
+            state.updated(salon);
+        });
+    }
+
+    public Optional<Summary> find(String hairSalon) {
+        String name = keyOf(hairSalon);
+        if (name == null) {
+            return Optional.empty();
+        }
+        Summary summary;
+        synchronized (this) {
+            Salon salon = state.salons.get(name);
+            if (salon == null) {
+                return Optional.empty();
+            }
+            summary = summaryOf(salon);
+        }
+        return Optional.of(withLatestPhoto(summary));
+    }
+
+    /**
+     * 인기순(좋아요 합, 사진 수 내림차순) 목록.
+     */
+    public Page<Summary> list(Pageable pageable) {
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            pageable = PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE, pageable.getSort());
+        }
+        int pageSize = pageable.getPageSize();
+        List<Summary> summaries = new ArrayList<>();
+        int total;
+        synchronized (this) {
+            total = state.ranking.size();
+            Iterator<Salon> iterator = state.ranking.iterator();
+            for (long skip = pageable.getOffset(); skip > 0 && iterator.hasNext(); skip--) {
+                iterator.next();
+            }
+            while (summaries.size() < pageSize && iterator.hasNext()) {
+                summaries.add(summaryOf(iterator.next()));
+            }
+        }
+        summaries.replaceAll(this::withLatestPhoto);
+        return new PageImpl<>(summaries, pageable, total);
+    }
+
+    private State load() {
+        State loaded = new State();
+        for (PhotoRepository.SalonTotalsView row : photoRepository.sumBySalon()) {
+            String name = keyOf(row.getHairSalon());
+            if (name != null) {
+                Salon salon = loaded.update(name, true);
+                salon.photoCount += row.getPhotoCount().intValue();
+                salon.likeCount += row.getLikeCount() == null ? 0 : row.getLikeCount();
+                loaded.updated(salon);
+            }
+        }
+        for (PhotoRepository.SalonStyleView row : photoRepository.countBySalonAndHairName()) {
+            Salon salon = loaded.salons.get(keyOf(row.getHairSalon()));
+            if (salon != null) {
+                salon.styles.merge(row.getHairName(), row.getPhotoCount().intValue(), Integer::sum);
+            }
+        }
+        return loaded;
+    }
+
+    // like: 좋아요 버퍼를 거쳐 DB 에 반영되는 변경인지
+    private synchronized void apply(boolean like, Consumer<State> change) {
+        change.accept(state);
+        changes++;
+        if (journal != null) {
+            journal.add(new Change(changes, like, change));
+        }
+    }
+
+    private synchronized long appliedChanges() {
+        return changes;
+    }
+
+    /**
+     * 최근 사진을 모르면 (hairSalon, created) 인덱스로 한 건을 찾아 기억합니다.
+     */
+    private Summary withLatestPhoto(Summary summary) {
+        if (summary.latestPhotoId != null) {
+            return summary;
+        }
+        Optional<PhotoRepository.LatestPhotoView> latest =
+            photoRepository.findFirstByHairSalonOrderByCreatedDescIdDesc(summary.hairSalon);
+        if (latest.isEmpty()) {
+            return summary;
+        }
+        synchronized (this) {
+            Salon salon = state.salons.get(summary.hairSalon);
+            // 찾는 사이 사진이 추가/삭제되었으면 이번 응답에만 쓰고 기억하지 않는다.
+            if (salon != null && salon.stamp == summary.stamp) {
+                salon.latestPhotoId = latest.get().getId();
+                salon.latestCreated = latest.get().getCreated();
+            }
+        }
+        return new Summary(summary.hairSalon, summary.photoCount, summary.likeCount, summary.topStyles,
+            latest.get().getId(), summary.stamp);
+    }
+
+    private Summary summaryOf(Salon salon) {
+        List<String> topStyles = salon.styles.entrySet().stream()
+            .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+            .limit(TOP_STYLES)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        return new Summary(salon.name, salon.photoCount, salon.likeCount, topStyles, salon.latestPhotoId, salon.stamp);
+    }
+
+    private static boolean isNewer(LocalDateTime created, Long photoId, Salon salon) {
+        if (salon.latestCreated == null) {
+            return true;
+        }
+        int compared = created.compareTo(salon.latestCreated);
+        return compared > 0 || (compared == 0 && photoId > salon.latestPhotoId);
+    }
+
+    private static String keyOf(String hairSalon) {
+        if (hairSalon == null || hairSalon.isBlank()) {
+            return null;
+        }
+        return hairSalon.trim();
+    }
+
+    /**
+     * 한 시점의 미용실 집계. ranking 은 salons 와 같은 객체를 인기순으로 들고 있다.
+     */
+    private class State {
+        private final Map<String, Salon> salons = new HashMap<>();
+        private final TreeSet<Salon> ranking = new TreeSet<>(POPULARITY);
+
+        // 정렬 키가 바뀌기 전에 ranking 에서 빼고, updated 에서 다시 넣는다.
+        private Salon update(String name, boolean create) {
+            Salon salon = salons.get(name);
+            if (salon == null) {
+                if (!create) {
+                    return null;
+                }
+                salon = new Salon(name);
+                salons.put(name, salon);
+                return salon;
+            }
+            ranking.remove(salon);
+            return salon;
+        }
+
+        private void updated(Salon salon) {
+            salon.stamp = stamps.incrementAndGet();
+            if (salon.photoCount <= 0) {
+                salons.remove(salon.name);
+                return;
+            }
+            ranking.add(salon);
+        }
+    }
+
+    private static final class Change {
+        private final long sequence;
+        private final boolean like;
+        private final Consumer<State> action;
+
+        private Change(long sequence, boolean like, Consumer<State> action) {
+            this.sequence = sequence;
+            this.like = like;
+            this.action = action;
+        }
+    }
+
+    // 재구성에 쓰는 스냅숏과, 그것을 읽기 전까지 적용된 변경 수
+    private final class Snapshot {
+        private long likesBefore;
+        private long photosBefore;
+        private State state;
+    }
+
+    private static final class Salon {
+        private final String name;
+        private int photoCount;
+        private long likeCount;
+        private final Map<String, Integer> styles = new HashMap<>();
+        // 모르면 null. 최근 사진이 삭제되거나 재구성하면 다시 찾는다.
+        private Long latestPhotoId;
+        private LocalDateTime latestCreated;
+        private long stamp;
+
+        private Salon(String name) {
+            this.name = name;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Summary {
+        private final String hairSalon;
+        private final int photoCount;
+        private final long likeCount;
+        private final List<String> topStyles;
+        private final Long latestPhotoId;
+        @Getter(AccessLevel.NONE)
+        private final long stamp;
+    }
+}
@@ -0,0 +1,67 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.dto.SalonResponse;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 미용실 페이지. 집계는 SalonDirectory 에서 읽고, DB 에서는 각 미용실의 최근 사진만 불러온다.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalonService {
+
+    private final SalonDirectory salonDirectory;
+    private final PhotoRepository photoRepository;
+    private final PhotoResponseAssembler photoResponseAssembler;
+
+    @Transactional(readOnly = true)
+    public SalonResponse findSalon(String hairSalon, Long viewerId) {
+        SalonDirectory.Summary summary = salonDirectory.find(hairSalon)
+            .orElseThrow(() -> new IllegalArgumentException("해당 미용실이 없습니다."));
+        Map<Long, PhotoResponse> latestPhotos = latestPhotosOf(List.of(summary), viewerId);
+        return toResponse(summary, latestPhotos);
+    }
+
+    /**
+     * 인기순(좋아요 합, 사진 수) 미용실 목록.
+     */
+    @Transactional(readOnly = true)
+    public Page<SalonResponse> findPopularSalons(Pageable pageable, Long viewerId) {
+        Page<SalonDirectory.Summary> summaries = salonDirectory.list(pageable);
+        Map<Long, PhotoResponse> latestPhotos = latestPhotosOf(summaries.getContent(), viewerId);
+        return summaries.map(summary -> toResponse(summary, latestPhotos));
+    }
+
+    // 페이지의 최근 사진들을 한 번에 불러온다.
+    private Map<Long, PhotoResponse> latestPhotosOf(List<SalonDirectory.Summary> summaries, Long viewerId) {
+        List<Long> photoIds = summaries.stream()
+            .map(SalonDirectory.Summary::getLatestPhotoId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (photoIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, PhotoResponse> responses = new HashMap<>();
+        for (PhotoResponse response : photoResponseAssembler.toResponses(photoRepository.findAllById(photoIds), viewerId)) {
+            responses.put(response.getId(), response);
+        }
+        return responses;
+    }
+
+    private SalonResponse toResponse(SalonDirectory.Summary summary, Map<Long, PhotoResponse> latestPhotos) {
+        return new SalonResponse(summary.getHairSalon(), summary.getPhotoCount(), summary.getLikeCount(),
+            summary.getTopStyles(), latestPhotos.get(summary.getLatestPhotoId()));
+    }
+}
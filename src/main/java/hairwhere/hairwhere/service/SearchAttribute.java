@@ -0,0 +1,64 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.dto.SearchRequest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 사진 검색에 쓰이는 속성. property 는 Photo 의 필드 이름이다.
+ */
+public enum SearchAttribute {
+    HAIR_NAME("hairName", Photo::getHairName, SearchRequest::getHairName),
+    HAIR_LENGTH("hairLength", Photo::getHairLength, SearchRequest::getHairLength),
+    HAIR_COLOR("hairColor", Photo::getHairColor, SearchRequest::getHairColor),
+    GENDER("gender", Photo::getGender, SearchRequest::getGender);
+
+    private final String property;
+    private final Function<Photo, String> photoValue;
+    private final Function<SearchRequest, String> requestValue;
+
+    SearchAttribute(String property, Function<Photo, String> photoValue, Function<SearchRequest, String> requestValue) {
+        this.property = property;
+        this.photoValue = photoValue;
+        this.requestValue = requestValue;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String valueOf(Photo photo) {
+        return photoValue.apply(photo);
+    }
+
+    /**
+     * 검색 요청을 속성별 값 집합으로 바꿉니다. 값은 URL 디코딩하고, 쉼표로 나눈 값들은 OR 로 취급합니다.
+     * 값이 없는 속성은 결과에 포함하지 않습니다.
+     */
+    public static Map<SearchAttribute, Set<String>> filtersOf(SearchRequest searchRequest) {
+        Map<SearchAttribute, Set<String>> filters = new EnumMap<>(SearchAttribute.class);
+        for (SearchAttribute attribute : values()) {
+            String value = attribute.requestValue.apply(searchRequest);
+            if (value == null || value.isBlank()) {
+                continue;
+            }
+            Set<String> values = Arrays.stream(URLDecoder.decode(value, StandardCharsets.UTF_8).split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (!values.isEmpty()) {
+                filters.put(attribute, values);
+            }
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,30 @@
+package hairwhere.hairwhere.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 메모리에 들고 있는 파생 데이터(카운터, 인덱스, 캐시)는 DB 가 커밋된 뒤에만 바꾼다.
+ * 롤백된 변경이 메모리에 남지 않도록 하기 위함이다.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋된 뒤에, 아니면 바로 실행한다.
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+}
@@ -0,0 +1,270 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.repository.PhotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * 인기 급상승(trending) 사진. 사진마다 시간이 지날수록 줄어드는 점수를 두고, 전체와 성별별로 상위 K 개를 유지한다.
+ * 점수는 forward decay 로 계산한다. 이벤트 가중치에 exp(λ(이벤트 시각 - 기준 시각)) 를 곱해 더하면
+ * 현재 시각의 감쇠는 모든 사진에 같은 배수라 순위에 영향이 없으므로, 이벤트마다 해당 사진만 고치면 된다.
+ * 값이 커지지 않도록 주기적으로 기준 시각을 옮기면서 점수를 줄이고, 거의 0 이 된 사진은 버린다.
+ * 상위 K 는 정확한 순위가 아니라 후보를 K 의 두 배까지 들고 있는 근사이다. 좋아요 취소로 점수가 내려간 사진만 밀려날 수 있다.
+ */
+@Slf4j
+@Component
+public class TrendingEngine {
+
+    public static final String ALL = "all";
+
+    // 이 값보다 작아진 점수(좋아요 한 개가 반감기를 여러 번 지난 정도)는 버린다.
+    private static final double PRUNE_THRESHOLD = 0.01;
+
+    private static final Comparator<Score> RANKING = Comparator
+        .comparingDouble((Score score) -> score.value).reversed()
+        .thenComparing(Comparator.comparingLong((Score score) -> score.photoId).reversed());
+
+    private final PhotoRepository photoRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Clock clock;
+    private final double decayPerMilli;
+    private final long halfLifeMillis;
+    private final int capacity;
+    private final double likeWeight;
+    private final double commentWeight;
+
+    private final Map<Long, Score> scores = new HashMap<>();
+    // "all" 과 성별별 상위 후보
+    private final Map<String, TreeSet<Score>> rankings = new HashMap<>();
+    private long landmark;
+
+    @Autowired
+    public TrendingEngine(PhotoRepository photoRepository, PlatformTransactionManager transactionManager,
+                          @Value("${photo.trending.half-life-hours:12}") long halfLifeHours,
+                          @Value("${photo.trending.size:100}") int size,
+                          @Value("${photo.trending.like-weight:1}") double likeWeight,
+                          @Value("${photo.trending.comment-weight:2}") double commentWeight) {
+        this(photoRepository, transactionManager, Clock.systemDefaultZone(), Duration.ofHours(halfLifeHours),
+            size, likeWeight, commentWeight);
+    }
+
+    /**
+     * 벤치마크처럼 스프링 없이 쓰는 용도. photoRepository 가 없으면 시작 시 점수를 채우지 않는다.
+     */
+    public TrendingEngine(PhotoRepository photoRepository, PlatformTransactionManager transactionManager, Clock clock,
+                          Duration halfLife, int size, double likeWeight, double commentWeight) {
+        this.photoRepository = photoRepository;
+        this.readOnlyTransaction = transactionManager == null ? null : new TransactionTemplate(transactionManager);
+        if (readOnlyTransaction != null) {
+            readOnlyTransaction.setReadOnly(true);
+        }
+        this.clock = clock;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.decayPerMilli = Math.log(2) / halfLifeMillis;
+        this.capacity = size * 2;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.landmark = clock.millis();
+        rankings.put(ALL, new TreeSet<>(RANKING));
+    }
+
+    /**
+     * 시작 시 최근 사진들의 좋아요 수를 사진 업로드 시각에 받은 것으로 보고 점수를 채웁니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        if (photoRepository == null) {
+            return;
+        }
+        long now = clock.millis();
+        // 반감기를 8번 지나면 1/256 이므로 그 이전 사진은 읽지 않는다.
+        LocalDateTime since = LocalDateTime.ofInstant(clock.instant().minusMillis(halfLifeMillis * 8), clock.getZone());
+        try {
+            int count = readOnlyTransaction.execute(status -> {
+                int rows = 0;
+                try (Stream<PhotoRepository.TrendingSeedView> stream = photoRepository.streamTrendingSeeds(since)) {
+                    for (PhotoRepository.TrendingSeedView row : (Iterable<PhotoRepository.TrendingSeedView>) stream::iterator) {
+                        long eventMillis = Math.min(now, row.getCreated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                        record(row.getId(), row.getGender(), row.getLikeCount() * likeWeight, eventMillis);
+                        rows++;
+                    }
+                }
+                return rows;
+            });
+            log.info("trending 점수 초기화 완료: {}건", count);
+        } catch (RuntimeException e) {
+            // 비어 있는 상태로 시작해도 이후 이벤트로 채워진다.
+            log.error("trending 점수 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 좋아요 수 변화. 취소는 음수입니다. 커밋된 뒤에 반영됩니다.
+     */
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLikeChanged(LikeChangedEvent event) {
+        likeChanged(event.getPhotoId(), event.getGender(), event.getDelta());
+    }
+
+    void likeChanged(Long photoId, String gender, int delta) {
+        record(photoId, gender, delta * likeWeight, clock.millis());
+    }
+
+    /**
+     * 댓글이 달렸습니다. 커밋된 뒤에 반영됩니다.
+     */
+    public void commentAdded(Long photoId, String gender) {
+        TransactionHooks.afterCommit(() -> record(photoId, gender, commentWeight, clock.millis()));
+    }
+
+    /**
+     * 삭제된 사진을 뺍니다. 커밋된 뒤에 반영됩니다.
+     */
+    public void remove(Long photoId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                Score score = scores.remove(photoId);
+                if (score != null) {
+                    for (TreeSet<Score> ranking : rankingsOf(score, false)) {
+                        ranking.remove(score);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * gender(null 이면 전체)의 점수 상위 사진 id 를 최대 size 개 반환합니다.
+     */
+    public synchronized List<Long> top(String gender, int size) {
+        TreeSet<Score> ranking = rankings.get(gender == null ? ALL : keyOf(gender));
+        List<Long> photoIds = new ArrayList<>();
+        if (ranking == null) {
+            return photoIds;
+        }
+        for (Score score : ranking) {
+            if (photoIds.size() >= size) {
+                break;
+            }
+            photoIds.add(score.photoId);
+        }
+        return photoIds;
+    }
+
+    /**
+     * 기준 시각을 지금으로 옮겨 점수를 줄이고, 거의 0 이 된 사진을 버린 뒤 상위 후보를 다시 만듭니다.
+     */
+    @Scheduled(fixedDelayString = "${photo.trending.rescale-interval-ms:600000}")
+    public synchronized void rescale() {
+        long now = clock.millis();
+        double factor = Math.exp(-decayPerMilli * (now - landmark));
+        landmark = now;
+
+        for (TreeSet<Score> ranking : rankings.values()) {
+            ranking.clear();
+        }
+        Iterator<Score> iterator = scores.values().iterator();
+        while (iterator.hasNext()) {
+            Score score = iterator.next();
+            score.value *= factor;
+            if (score.value < PRUNE_THRESHOLD) {
+                iterator.remove();
+                continue;
+            }
+            for (TreeSet<Score> ranking : rankingsOf(score, true)) {
+                offer(ranking, score);
+            }
+        }
+    }
+
+    /**
+     * eventMillis 에 weight 만큼의 이벤트가 있었던 것으로 점수를 더합니다.
+     */
+    public void record(Long photoId, String gender, double weight, long eventMillis) {
+        synchronized (this) {
+            double boost = weight * Math.exp(decayPerMilli * (eventMillis - landmark));
+            Score score = scores.get(photoId);
+            if (score == null) {
+                if (boost <= 0) {
+                    return;
+                }
+                score = new Score(photoId, gender == null ? null : keyOf(gender));
+                scores.put(photoId, score);
+            }
+
+            List<TreeSet<Score>> rankingsOfScore = rankingsOf(score, true);
+            // 정렬 키가 바뀌기 전에 빼고 다시 넣는다.
+            for (TreeSet<Score> ranking : rankingsOfScore) {
+                ranking.remove(score);
+            }
+            score.value = Math.max(0, score.value + boost);
+            for (TreeSet<Score> ranking : rankingsOfScore) {
+                offer(ranking, score);
+            }
+        }
+    }
+
+    private void offer(TreeSet<Score> ranking, Score score) {
+        if (ranking.size() < capacity) {
+            ranking.add(score);
+            return;
+        }
+        if (RANKING.compare(score, ranking.last()) < 0) {
+            ranking.add(score);
+            ranking.pollLast();
+        }
+    }
+
+    private List<TreeSet<Score>> rankingsOf(Score score, boolean create) {
+        List<TreeSet<Score>> result = new ArrayList<>(2);
+        result.add(rankings.get(ALL));
+        if (score.gender != null) {
+            TreeSet<Score> byGender = create
+                ? rankings.computeIfAbsent(score.gender, gender -> new TreeSet<>(RANKING))
+                : rankings.get(score.gender);
+            if (byGender != null) {
+                result.add(byGender);
+            }
+        }
+        return result;
+    }
+
+    private static String keyOf(String gender) {
+        return gender.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Score {
+        private final long photoId;
+        private final String gender;
+        private double value;
+
+        private Score(long photoId, String gender) {
+            this.photoId = photoId;
+            this.gender = gender;
+        }
+    }
+}
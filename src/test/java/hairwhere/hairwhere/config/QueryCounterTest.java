@@ -0,0 +1,69 @@
+package hairwhere.hairwhere.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryCounterTest {
+
+    private final QueryCounter inspector = new QueryCounter();
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.unbind();
+    }
+
+    @Test
+    void statementsAreCountedOnlyWhileACounterIsBound() {
+        AtomicInteger counter = new AtomicInteger();
+
+        inspector.inspect("select 1");
+        QueryCounter.bind(counter);
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        QueryCounter.unbind();
+        inspector.inspect("select 3");
+
+        assertThat(counter.get()).isEqualTo(2);
+    }
+
+    @Test
+    void ioExecutorTasksCountIntoTheSubmittingRequestAndLeaveTheWorkerClean() throws Exception {
+        ThreadPoolTaskExecutor ioExecutor = new AsyncConfig().ioExecutor(1, 10);
+        ioExecutor.initialize();
+        try {
+            AtomicInteger request = new AtomicInteger();
+            QueryCounter.bind(request);
+            ioExecutor.submit(() -> inspector.inspect("select 1")).get(5, TimeUnit.SECONDS);
+            QueryCounter.unbind();
+
+            // 같은 작업 스레드에서 요청 없이 실행된 작업(스케줄 등)은 앞 요청의 카운터를 물려받지 않는다.
+            ioExecutor.submit(() -> inspector.inspect("select 2")).get(5, TimeUnit.SECONDS);
+
+            assertThat(request.get()).isEqualTo(1);
+        } finally {
+            ioExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void propagatedTaskRestoresTheCounterAlreadyBoundOnTheRunningThread() {
+        AtomicInteger submitter = new AtomicInteger();
+        AtomicInteger runner = new AtomicInteger();
+        QueryCounter.bind(submitter);
+        Runnable task = QueryCounter.propagate(() -> inspector.inspect("select 1"));
+
+        // 호출자 실행(CallerRunsPolicy)처럼 다른 카운터가 묶인 스레드에서 실행된다.
+        QueryCounter.bind(runner);
+        task.run();
+        inspector.inspect("select 2");
+
+        assertThat(submitter.get()).isEqualTo(1);
+        assertThat(runner.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package hairwhere.hairwhere.controller;
+
+import hairwhere.hairwhere.config.AsyncConfig;
+import hairwhere.hairwhere.config.SecurityConfig;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.service.JwtService;
+import hairwhere.hairwhere.service.KakaoService;
+import hairwhere.hairwhere.service.LikeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LikeController.class)
+@Import({SecurityConfig.class, AsyncConfig.class, JwtService.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+    "jwt.secret=bGlrZS1jb250cm9sbGVyLXRlc3Qtc2lnbmluZy1rZXktMDEyMzQ1Njc4OQ==",
+    "jwt.access-token-validity=3600"
+})
+class LikeControllerTest {
+
+    // ioExecutor 풀(64)보다 작아야 모두 동시에 서비스에 들어간다.
+    private static final int REQUESTS = 16;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @MockitoBean
+    private LikeService likeService;
+
+    @MockitoBean
+    private KakaoService kakaoService;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        User viewer = new User(1234L, "viewer", null);
+        viewer.setId(1L);
+        bearer = "Bearer " + jwtService.generateToken(viewer);
+    }
+
+    @Test
+    void asyncResponseKeepsAuthenticationOnAsyncDispatch() throws Exception {
+        when(likeService.isLiked(7L, 1L)).thenReturn(false);
+
+        MvcResult result = mockMvc.perform(post("/like/7").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // 응답을 쓰는 ASYNC 디스패치에서도 인증이 남아 있어야 401 이 아니라 200 이다.
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().string("좋아요 추가"));
+    }
+
+    @Test
+    void requestWithoutTokenIsRejectedBeforeTheService() throws Exception {
+        mockMvc.perform(post("/like/7"))
+            .andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(likeService);
+    }
+
+    @Test
+    void requestThreadIsReleasedWhileServiceCallsAreInFlight() throws Exception {
+        CountDownLatch entered = new CountDownLatch(REQUESTS);
+        CountDownLatch release = new CountDownLatch(1);
+        when(likeService.isLiked(anyLong(), eq(1L))).thenAnswer(invocation -> {
+            entered.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return true;
+        });
+
+        // 요청 스레드(테스트 스레드) 하나가 서비스 호출이 끝나기를 기다리지 않고 요청을 모두 넘긴다.
+        List<MvcResult> results = new ArrayList<>();
+        for (long photoId = 1; photoId <= REQUESTS; photoId++) {
+            results.add(mockMvc.perform(post("/like/" + photoId).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn());
+        }
+
+        // 서비스 호출 REQUESTS 개가 동시에 ioExecutor 에서 진행 중이다.
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(results).allSatisfy(result -> assertThat(result.getResponse().isCommitted()).isFalse());
+
+        release.countDown();
+        for (MvcResult result : results) {
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("좋아요 삭제"));
+        }
+    }
+}
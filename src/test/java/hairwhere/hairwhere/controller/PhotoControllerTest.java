@@ -0,0 +1,234 @@
+package hairwhere.hairwhere.controller;
+
+import hairwhere.hairwhere.config.AsyncConfig;
+import hairwhere.hairwhere.config.QueryCounter;
+import hairwhere.hairwhere.config.SecurityConfig;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.CursorPage;
+import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.dto.PhotoSort;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import hairwhere.hairwhere.repository.UserRepository;
+import hairwhere.hairwhere.service.ContentVersions;
+import hairwhere.hairwhere.service.JwtService;
+import hairwhere.hairwhere.service.KakaoService;
+import hairwhere.hairwhere.service.LikeChangedEvent;
+import hairwhere.hairwhere.service.LikeService;
+import hairwhere.hairwhere.service.PhotoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PhotoController.class)
+@Import({SecurityConfig.class, AsyncConfig.class, JwtService.class, ContentVersions.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = {
+    "jwt.secret=cGhvdG8tY29udHJvbGxlci10ZXN0LXNpZ25pbmcta2V5LTAxMjM0NTY3ODk=",
+    "jwt.access-token-validity=3600",
+    "photo.etag.enabled=true",
+    "photo.etag.max-age-seconds=0"
+})
+class PhotoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private PhotoService photoService;
+
+    @MockitoBean
+    private LikeService likeService;
+
+    @MockitoBean
+    private PhotoRepository photoRepository;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private KakaoService kakaoService;
+
+    private String bearer;
+
+    @BeforeEach
+    void setUp() {
+        User viewer = new User(1234L, "viewer", null);
+        viewer.setId(1L);
+        bearer = "Bearer " + jwtService.generateToken(viewer);
+    }
+
+    @Test
+    void searchWithNonPositivePageOrSizeIsNotAServerError() throws Exception {
+        when(photoService.search(any(), any(), isNull())).thenReturn(Page.empty());
+
+        mockMvc.perform(get("/photo/search").param("page", "-1").param("size", "0"))
+            .andExpect(status().isOk());
+
+        verify(photoService).search(any(), eq(PageRequest.of(0, 1, PhotoSort.toSort("created", "desc"))), isNull());
+    }
+
+    @Test
+    void failedUploadReachesTheClientAsBadRequest() throws Exception {
+        // 병렬 업로드 중 하나가 실패하면 PhotoService 가 올라간 이미지를 지운 뒤 원인 예외를 던진다.
+        when(photoService.upload(eq("viewer"), any(), anyInt(), any(), any(), any()))
+            .thenThrow(new IllegalArgumentException("이미지 저장 실패"));
+
+        MvcResult result = mockMvc.perform(multipart("/photo/upload")
+                .file(new MockMultipartFile("image", "first.jpg", "image/jpeg", new byte[]{1}))
+                .file(new MockMultipartFile("image", "broken.jpg", "image/jpeg", new byte[]{2}))
+                .param("createdStr", "2025-01-01T12:00:00")
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.errorMessage").value("이미지 저장 실패"));
+    }
+
+    @Test
+    void feedAnswersNotModifiedUntilAPhotoIsLiked() throws Exception {
+        when(photoService.findAllFeed(isNull(), anyInt(), isNull()))
+            .thenReturn(CursorPage.<PhotoResponse>of(List.of(), 15, photo -> null));
+
+        String etag = mockMvc.perform(get("/photo/feed/all"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/photo/feed/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        verify(photoService, times(1)).findAllFeed(isNull(), anyInt(), isNull());
+
+        // 트랜잭션 밖에서 발행된 이벤트는 곧바로 반영된다.
+        contentVersions.onLikeChanged(new LikeChangedEvent(7L, null, null, 1));
+
+        String changed = mockMvc.perform(get("/photo/feed/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+        verify(photoService, times(2)).findAllFeed(isNull(), anyInt(), isNull());
+    }
+
+    @Test
+    void photoAnswersNotModifiedUntilAuthorProfilesChange() throws Exception {
+        when(photoService.findById(7L, null)).thenReturn(new PhotoResponse());
+
+        String etag = mockMvc.perform(get("/photo/find/7"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/photo/find/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        contentVersions.profilesChanged();
+
+        mockMvc.perform(get("/photo/find/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+        verify(photoService, times(2)).findById(7L, null);
+    }
+
+    @Test
+    void queriesOnTheIoExecutorAreRecordedOnceWhenTheAsyncRequestCompletes() throws Exception {
+        QueryCounter inspector = new QueryCounter();
+        // 서비스는 ioExecutor 스레드에서 실행된다. 요청 스레드의 카운터가 따라가야 센다.
+        when(photoService.upload(eq("viewer"), any(), anyInt(), any(), any(), any())).thenAnswer(invocation -> {
+            inspector.inspect("insert into photo");
+            inspector.inspect("select 1");
+            return 7L;
+        });
+        long countBefore = queries("POST", "/photo/upload").count();
+        double totalBefore = queries("POST", "/photo/upload").totalAmount();
+
+        MvcResult result = mockMvc.perform(multipart("/photo/upload")
+                .file(new MockMultipartFile("image", "first.jpg", "image/jpeg", new byte[]{1}))
+                .param("createdStr", "2025-01-01T12:00:00")
+                .header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        // 처음 디스패치가 끝난 시점에는 기록하지 않는다.
+        assertThat(queries("POST", "/photo/upload").count()).isEqualTo(countBefore);
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk());
+
+        assertThat(queries("POST", "/photo/upload").count()).isEqualTo(countBefore + 1);
+        assertThat(queries("POST", "/photo/upload").totalAmount()).isEqualTo(totalBefore + 2);
+    }
+
+    @Test
+    void queriesOfASynchronousRequestAreTaggedWithTheMappedPattern() throws Exception {
+        QueryCounter inspector = new QueryCounter();
+        when(photoService.findById(8L, null)).thenAnswer(invocation -> {
+            inspector.inspect("select 1");
+            return new PhotoResponse();
+        });
+        long countBefore = queries("GET", "/photo/find/{id}").count();
+        double totalBefore = queries("GET", "/photo/find/{id}").totalAmount();
+
+        mockMvc.perform(get("/photo/find/8"))
+            .andExpect(status().isOk());
+
+        assertThat(queries("GET", "/photo/find/{id}").count()).isEqualTo(countBefore + 1);
+        assertThat(queries("GET", "/photo/find/{id}").totalAmount()).isEqualTo(totalBefore + 1);
+    }
+
+    @Test
+    void actuatorEndpointsOtherThanHealthRequireLogin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/http.server.requests"))
+            .andExpect(status().isUnauthorized());
+        // 이 테스트에는 actuator 가 없으므로 통과한 요청은 404 이다.
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(get("/actuator/prometheus").header(HttpHeaders.AUTHORIZATION, bearer))
+            .andExpect(status().isNotFound());
+    }
+
+    private DistributionSummary queries(String method, String uri) {
+        return DistributionSummary.builder("http.server.requests.queries")
+            .tag("method", method)
+            .tag("uri", uri)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,64 @@
+package hairwhere.hairwhere.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeoHashTest {
+
+    @Test
+    void encodesKnownHashes() {
+        assertThat(GeoHash.encode(GeoPoint.of(42.605, -5.603), 5)).isEqualTo("ezs42");
+        assertThat(GeoHash.encode(GeoPoint.of(57.64911, 10.40744), 11)).isEqualTo("u4pruydqqvj");
+    }
+
+    /**
+     * 반경 안의 어떤 좌표도 검색 영역의 접두사와 외접 사각형을 벗어나지 않아야 한다.
+     */
+    @ParameterizedTest
+    @CsvSource({
+        "37.5665, 126.9780, 0.5",  // 서울
+        "35.1796, 129.0756, 3",    // 부산
+        "33.4996, 126.5312, 50",   // 제주
+        "0.0001, 179.9999, 10",    // 날짜 변경선 / 적도
+        "-33.8688, 151.2093, 20"
+    })
+    void areaCoversEveryPointWithinRadius(double latitude, double longitude, double radiusKm) {
+        GeoPoint center = GeoPoint.of(latitude, longitude);
+        GeoHash.Area area = GeoHash.area(center, radiusKm);
+
+        assertThat(area.getPrefixes()).hasSizeLessThanOrEqualTo(9);
+
+        Random random = new Random(42);
+        double latDelta = radiusKm / 111.0;
+        for (int i = 0; i < 20_000; i++) {
+            double lat = latitude + (random.nextDouble() * 2 - 1) * latDelta * 1.1;
+            double lon = longitude + (random.nextDouble() * 2 - 1) * latDelta * 1.1 / Math.cos(Math.toRadians(latitude));
+            if (lon > 180) {
+                lon -= 360;
+            }
+            if (lon < -180) {
+                lon += 360;
+            }
+            if (center.distanceKm(lat, lon) > radiusKm) {
+                continue;
+            }
+
+            String hash = GeoHash.encode(GeoPoint.of(lat, lon), GeoHash.STORED_PRECISION);
+            assertThat(area.getPrefixes()).anyMatch(hash::startsWith);
+            assertThat(lat).isBetween(area.getMinLatitude(), area.getMaxLatitude());
+            assertThat(lon).isBetween(area.getMinLongitude(), area.getMaxLongitude());
+        }
+    }
+
+    @Test
+    void distanceBetweenSeoulAndBusan() {
+        double km = GeoPoint.of(37.5665, 126.9780).distanceKm(35.1796, 129.0756);
+
+        assertThat(km).isBetween(320.0, 330.0);
+    }
+}
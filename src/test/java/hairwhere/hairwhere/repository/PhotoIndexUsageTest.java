@@ -0,0 +1,238 @@
+package hairwhere.hairwhere.repository;
+
+import hairwhere.hairwhere.domain.GeoHash;
+import hairwhere.hairwhere.domain.GeoPoint;
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.dto.FeedCursor;
+import hairwhere.hairwhere.dto.PhotoSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 API 가 실행하는 쿼리들이 기대한 인덱스를 타는지 EXPLAIN 으로 확인한다.
+ * 손으로 옮긴 SQL 이 아니라, 리포지토리 메서드를 실제로 호출해 Hibernate 가 만든 SQL(선택 컬럼, 정렬, LIMIT)과
+ * 바인딩 값을 JDBC 단에서 가로채 그대로 EXPLAIN 한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PhotoIndexUsageTest {
+
+    private static final String[] GENDERS = {"male", "female"};
+    private static final String[] COLORS = {"black", "brown", "ash", "blonde"};
+    private static final String[] LENGTHS = {"short", "medium", "long"};
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    // PhotoService 의 피드 정렬과 같다.
+    private static final Sort FEED_SORT = PhotoSort.toSort("created", "desc");
+    private static final Pageable PAGE = PageRequest.of(0, 15, FEED_SORT);
+
+    // 실행된 SELECT 와 바인딩 값. 각 테스트에서 비우고 리포지토리를 호출한 뒤 읽는다.
+    private static final List<CapturedQuery> executed = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        List<Photo> photos = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Photo photo = Photo.builder()
+                .kakaoId((long) (i % 30))
+                .nickname("user" + (i % 30))
+                .hairName("style" + (i % 20))
+                .gender(GENDERS[i % GENDERS.length])
+                .hairColor(COLORS[i % COLORS.length])
+                .hairLength(LENGTHS[i % LENGTHS.length])
+                .hairSalon("salon" + (i % 25))
+                .hairSalonAddress("address" + (i % 25))
+                .likeCount(i % 50)
+                .created(BASE.plusMinutes(i))
+                .build();
+            photo.locateAt(GeoPoint.of(37.50 + (i % 30) * 0.01, 126.90 + (i % 7) * 0.01));
+            photos.add(photo);
+        }
+        photoRepository.saveAllAndFlush(photos);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    static Stream<Arguments> listQueries() {
+        FeedCursor cursor = new FeedCursor(BASE.plusHours(2), 100L);
+        return Stream.of(
+            // /photo/find/all, /photo/feed/all
+            query("idx_photo_created_id", repository -> repository.findAll(PAGE)),
+            query("idx_photo_like_count_id", repository -> repository.findAll(
+                PageRequest.of(0, 15, PhotoSort.toSort("likeCount", "desc")))),
+            query("idx_photo_created_id", repository -> feed(repository, PhotoSpecifications.after(cursor))),
+            // /photo/findByGender, /photo/findHair, /photo/find/address, /kakao/find/{kakaoId}/photos
+            query("idx_photo_gender_created", repository -> repository.findByGender("female", PAGE)),
+            query("idx_photo_hair_salon_created", repository -> repository.findByHairSalon("salon3", PAGE)),
+            query("idx_photo_hair_salon_address_created",
+                repository -> repository.findByHairSalonAddress("address3", PAGE)),
+            query("idx_photo_kakao_id_created", repository -> repository.findByKakaoId(3L, PAGE)),
+            query("idx_photo_kakao_id_created", repository -> feed(repository, Specification
+                .where(PhotoSpecifications.equalTo("kakaoId", 3L))
+                .and(PhotoSpecifications.after(cursor)))),
+            // /photo/search 의 DB 경로에서 자주 쓰는 조합
+            query("idx_photo_hair_name_created", repository -> repository.findAll(
+                PhotoSpecifications.equalTo("hairName", "style3"), PAGE)),
+            query("idx_photo_gender_hair_color_created", repository -> repository.findAll(Specification
+                .where(PhotoSpecifications.equalTo("gender", "female"))
+                .and(PhotoSpecifications.in("hairColor", Set.of("brown", "ash"))), PAGE)),
+            query("idx_photo_gender_hair_length_created", repository -> repository.findAll(Specification
+                .where(PhotoSpecifications.equalTo("gender", "male"))
+                .and(PhotoSpecifications.equalTo("hairLength", "long")), PAGE)),
+            // /photo/nearby: geohash 셀마다 하나씩 보내는 쿼리
+            query("idx_photo_geohash_created", repository -> feed(repository, Specification
+                .where(PhotoSpecifications.between("latitude", 37.60, 37.70))
+                .and(PhotoSpecifications.between("longitude", 126.90, 127.00))
+                .and(PhotoSpecifications.startsWith("geohash", GeoHash.encode(GeoPoint.of(37.65, 126.95), 5)))
+                .and(PhotoSpecifications.after(cursor)))),
+            // /kakao/mypage/like: 좋아요한 사진 id 는 likes 의 (user_id, photo_id) 유니크 인덱스로 찾는다.
+            query("uk_likes_user_photo", repository -> repository.findLikedByUserId(1L, PAGE))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("listQueries")
+    void listQueryUsesExpectedIndex(String expectedIndex, Consumer<PhotoRepository> query) {
+        executed.clear();
+        query.accept(photoRepository);
+
+        // Page 조회는 COUNT 쿼리도 실행하므로 정렬이 있는 목록 쿼리만 본다.
+        List<CapturedQuery> listQueries = executed.stream()
+            .filter(captured -> captured.sql().toLowerCase().contains("order by"))
+            .toList();
+        assertThat(listQueries).hasSize(1);
+
+        String plan = explain(listQueries.get(0));
+
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+        assertThat(plan).containsIgnoringCase(expectedIndex);
+    }
+
+    private static Arguments query(String expectedIndex, Consumer<PhotoRepository> query) {
+        return Arguments.of(expectedIndex, query);
+    }
+
+    // PhotoService.findFeed 와 같은 형태: spec + FEED_SORT + LIMIT (size + 1)
+    private static void feed(PhotoRepository repository, Specification<Photo> spec) {
+        repository.findBy(spec, q -> q.sortBy(FEED_SORT).limit(16).all());
+    }
+
+    private String explain(CapturedQuery captured) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + captured.sql())) {
+                // Hibernate 가 호출한 setXxx 를 같은 순서로 다시 호출한다.
+                for (Binding binding : captured.bindings()) {
+                    try {
+                        binding.setter().invoke(statement, binding.args());
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                try (ResultSet plan = statement.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    record Binding(Method setter, Object[] args) {
+    }
+
+    record CapturedQuery(String sql, List<Binding> bindings) {
+    }
+
+    /**
+     * DataSource 를 감싸 Hibernate 가 준비한 SELECT 문과 바인딩 값을 기록한다.
+     */
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return proxy(DataSource.class, dataSource, (method, args, result) ->
+                        result instanceof Connection connection ? capturing(connection) : result);
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) -> {
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+                    && ((String) args[0]).trim().toLowerCase().startsWith("select")) {
+                    return capturing(statement, (String) args[0]);
+                }
+                return result;
+            });
+        }
+
+        private static PreparedStatement capturing(PreparedStatement statement, String sql) {
+            List<Binding> bindings = new ArrayList<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                if (method.getName().startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    bindings.add(new Binding(method, args.clone()));
+                } else if (method.getName().equals("executeQuery")) {
+                    executed.add(new CapturedQuery(sql, List.copyOf(bindings)));
+                }
+                return result;
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return after.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        interface AfterCall {
+            Object apply(Method method, Object[] args, Object result) throws Exception;
+        }
+    }
+}
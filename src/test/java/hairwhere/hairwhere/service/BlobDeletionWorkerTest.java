@@ -0,0 +1,127 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.BlobDeletion;
+import hairwhere.hairwhere.repository.BlobDeletionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 워커가 각자 트랜잭션을 커밋하도록
+class BlobDeletionWorkerTest {
+
+    @Autowired
+    private BlobDeletionRepository blobDeletionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private GCPStorageService gcpStorageService;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private BlobDeletionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        blobDeletionRepository.deleteAll();
+        gcpStorageService = mock(GCPStorageService.class);
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new BlobDeletionWorker(blobDeletionRepository, gcpStorageService, transactionManager, meterRegistry,
+            clock, 2, Duration.ofSeconds(30), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void deletesInBatches() {
+        when(gcpStorageService.deleteImagesFromGCP(anyList())).thenReturn(List.of());
+        worker.enqueue(List.of("a", "b", "c", "d", "e"));
+
+        worker.drain();
+
+        assertThat(blobDeletionRepository.count()).isZero();
+        // 배치 크기 2 -> 2 + 2 + 1
+        verify(gcpStorageService, times(3)).deleteImagesFromGCP(anyList());
+        assertThat(meterRegistry.counter("blob.deletion.processed", "result", "deleted").count()).isEqualTo(5.0);
+    }
+
+    @Test
+    void failedBatchIsRetriedAfterBackoff() {
+        when(gcpStorageService.deleteImagesFromGCP(anyList()))
+            .thenThrow(new RuntimeException("GCS 장애"))
+            .thenReturn(List.of());
+        worker.enqueue(List.of("a"));
+
+        worker.drain();
+        BlobDeletion failed = blobDeletionRepository.findAll().get(0);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).isEqualTo("GCS 장애");
+
+        // 대기 시간 전에는 다시 시도하지 않는다.
+        clock.advanceSeconds(10);
+        worker.drain();
+        verify(gcpStorageService, times(1)).deleteImagesFromGCP(anyList());
+
+        clock.advanceSeconds(25);
+        worker.drain();
+        verify(gcpStorageService, times(2)).deleteImagesFromGCP(anyList());
+        assertThat(blobDeletionRepository.count()).isZero();
+    }
+
+    @Test
+    void onlyRemainingImagesStayQueued() {
+        when(gcpStorageService.deleteImagesFromGCP(anyList())).thenReturn(List.of("b"));
+        worker.enqueue(List.of("a", "b"));
+
+        worker.drain();
+
+        List<BlobDeletion> remaining = blobDeletionRepository.findAll();
+        assertThat(remaining).extracting(BlobDeletion::getImagePath).containsExactly("b");
+        assertThat(remaining.get(0).getAttempts()).isEqualTo(1);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Comment;
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.CommentResponse;
+import hairwhere.hairwhere.dto.CursorPage;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CommentService.class, TrendingEngine.class})
+class CommentServiceTest {
+
+    private static final int ROOTS = 25;
+    private static final int CHAIN_DEPTH = 6;
+    private static final int EXTRA_REPLIES = 7;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CommentService commentService;
+
+    private Photo photo;
+    private Long firstRootId;
+
+    @BeforeEach
+    void setUp() {
+        User author = entityManager.persist(new User(1L, "author", "profile-author"));
+        photo = entityManager.persist(Photo.builder()
+            .kakaoId(author.getKakaoId())
+            .nickname(author.getNickName())
+            .photoImagePath(new ArrayList<>(List.of("a")))
+            .created(LocalDateTime.now())
+            .user(author)
+            .build());
+
+        // 최상위 댓글마다 CHAIN_DEPTH 단계로 이어지는 답글 사슬을 단다.
+        for (int i = 0; i < ROOTS; i++) {
+            User writer = entityManager.persist(new User(100L + i, "writer" + i, "profile" + i));
+            Comment parent = null;
+            for (int depth = 0; depth < CHAIN_DEPTH; depth++) {
+                parent = persistComment("comment-" + i + "-" + depth, writer, parent);
+                if (i == 0 && depth == 0) {
+                    firstRootId = parent.getId();
+                }
+            }
+        }
+        // 첫 댓글에는 바로 아래 답글을 더 단다.
+        Comment firstRoot = entityManager.find(Comment.class, firstRootId);
+        for (int i = 0; i < EXTRA_REPLIES; i++) {
+            persistComment("extra-" + i, author, firstRoot);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesWalkAllRootsWithoutDuplicates() {
+        Set<Long> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<CommentResponse> page = commentService.getComments(photo.getId(), null, cursor, 10, 1);
+            for (CommentResponse comment : page.getItems()) {
+                assertThat(comment.getParentId()).isNull();
+                assertThat(seen.add(comment.getId())).isTrue();
+            }
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(ROOTS);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void queryCountDependsOnDepthNotThreadSize() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CursorPage<CommentResponse> page = commentService.getComments(photo.getId(), null, null, 20, 3);
+
+        assertThat(page.getItems()).hasSize(20);
+        // 페이지 + (답글 수 + 미리보기) x 2 단계 + 마지막 단계 답글 수
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(6);
+    }
+
+    @Test
+    void repliesArePreviewedWithCounts() {
+        CursorPage<CommentResponse> page = commentService.getComments(photo.getId(), firstRootId, null, 20, 2);
+
+        // 사슬의 다음 댓글 + 추가 답글, 대화 순서대로
+        assertThat(page.getItems()).hasSize(1 + EXTRA_REPLIES);
+        CommentResponse reply = page.getItems().get(0);
+        assertThat(reply.getContent()).isEqualTo("comment-0-1");
+        assertThat(reply.getUser().getNickName()).isEqualTo("writer0");
+        assertThat(reply.getReplyCount()).isEqualTo(1);
+
+        CommentResponse nested = reply.getReplies().get(0);
+        assertThat(nested.getContent()).isEqualTo("comment-0-2");
+        // 깊이 제한 아래는 펼치지 않고 답글 수만 담는다.
+        assertThat(nested.getReplies()).isEmpty();
+        assertThat(nested.getReplyCount()).isEqualTo(1);
+    }
+
+    @Test
+    void rootReplyPreviewIsBounded() {
+        CursorPage<CommentResponse> page = commentService.getComments(photo.getId(), null, null, ROOTS, 2);
+
+        CommentResponse firstRoot = page.getItems().stream()
+            .filter(comment -> comment.getId().equals(firstRootId))
+            .findFirst()
+            .orElseThrow();
+        assertThat(firstRoot.getReplyCount()).isEqualTo(1 + EXTRA_REPLIES);
+        assertThat(firstRoot.getReplies()).hasSize(3);
+    }
+
+    private Comment persistComment(String content, User writer, Comment parent) {
+        Comment comment = new Comment();
+        comment.setContent(content);
+        comment.setPhoto(photo);
+        comment.setUser(writer);
+        comment.setParent(parent);
+        return entityManager.persist(comment);
+    }
+}
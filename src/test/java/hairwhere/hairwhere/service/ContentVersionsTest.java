@@ -0,0 +1,106 @@
+package hairwhere.hairwhere.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentVersionsTest {
+
+    // 시계가 멈춰 있어도 버전은 항상 올라가야 한다.
+    private final ContentVersions contentVersions =
+        new ContentVersions(Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+    @Test
+    void photoChangeMovesPhotoAndFeedVersions() {
+        long feed = contentVersions.feedVersion();
+        long photo = contentVersions.photoVersion(1L);
+        long other = contentVersions.photoVersion(2L);
+
+        contentVersions.photoChanged(1L);
+
+        assertThat(contentVersions.photoVersion(1L)).isGreaterThan(photo);
+        assertThat(contentVersions.feedVersion()).isGreaterThan(feed);
+        assertThat(contentVersions.photoVersion(2L)).isEqualTo(other);
+    }
+
+    @Test
+    void feedChangeKeepsPhotoVersions() {
+        contentVersions.photoChanged(1L);
+        long photo = contentVersions.photoVersion(1L);
+        long feed = contentVersions.feedVersion();
+
+        contentVersions.feedChanged();
+
+        assertThat(contentVersions.feedVersion()).isGreaterThan(feed);
+        assertThat(contentVersions.photoVersion(1L)).isEqualTo(photo);
+    }
+
+    @Test
+    void etagDependsOnViewer() {
+        long version = contentVersions.feedVersion();
+
+        assertThat(ContentVersions.etag("feed", version, 1L))
+            .isNotEqualTo(ContentVersions.etag("feed", version, 2L))
+            .isNotEqualTo(ContentVersions.etag("feed", version, null))
+            .startsWith("\"").endsWith("\"");
+    }
+
+    @Test
+    void versionsExpireAfterMaxAgeEvenWithoutChanges() {
+        MovableClock clock = new MovableClock(Instant.parse("2025-01-01T00:00:10Z"));
+        ContentVersions expiring = new ContentVersions(true, 60, clock);
+        long feed = expiring.feedVersion();
+        long photo = expiring.photoVersion(1L);
+
+        clock.now = clock.now.plusSeconds(30);
+        assertThat(expiring.feedVersion()).isEqualTo(feed);
+
+        // DB 를 직접 고친 변경처럼 이 인스턴스가 모르는 변경도 max-age 가 지나면 새 ETag 로 받는다.
+        clock.now = clock.now.plusSeconds(30);
+        assertThat(expiring.feedVersion()).isGreaterThan(feed);
+        assertThat(expiring.photoVersion(1L)).isGreaterThan(photo);
+    }
+
+    @Test
+    void profileChangeMovesEveryVersion() {
+        contentVersions.photoChanged(1L);
+        long feed = contentVersions.feedVersion();
+        long photo = contentVersions.photoVersion(1L);
+        long untouched = contentVersions.photoVersion(2L);
+
+        contentVersions.profilesChanged();
+
+        assertThat(contentVersions.feedVersion()).isGreaterThan(feed);
+        assertThat(contentVersions.photoVersion(1L)).isGreaterThan(photo);
+        assertThat(contentVersions.photoVersion(2L)).isGreaterThan(untouched);
+    }
+
+    private static class MovableClock extends Clock {
+
+        private Instant now;
+
+        MovableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.dto.PhotoResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class FeedPageCacheTest {
+
+    private final Pageable firstPage = PageRequest.of(0, 15);
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedPageCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new FeedPageCache(mock(PhotoResponseAssembler.class), meterRegistry, 3, 50, 30, Clock.systemUTC());
+    }
+
+    @Test
+    void concurrentMissesRebuildOnce() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Supplier<Page<PhotoResponse>> slowLoader = () -> {
+            sleep(100);
+            return page();
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        List<Future<Page<PhotoResponse>>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return cache.get("all", firstPage, null, slowLoader);
+            }));
+        }
+        start.countDown();
+        for (Future<Page<PhotoResponse>> future : futures) {
+            assertThat(future.get().getContent()).hasSize(1);
+        }
+        executor.shutdown();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(meterRegistry.counter("feed.page.cache.requests", "result", "miss").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("feed.page.cache.requests", "result", "hit").count()).isEqualTo(31.0);
+    }
+
+    @Test
+    void likeChangesPatchCachedCountWithoutReload() {
+        cache.get("all", firstPage, null, this::page);
+
+        cache.onLikeChanged(new LikeChangedEvent(1L, null, null, 1));
+        Page<PhotoResponse> cached = cache.get("all", firstPage, null, this::page);
+
+        assertThat(cached.getContent().get(0).getLikeCount()).isEqualTo(11);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidationAndDeepPagesGoToLoader() {
+        cache.get("all", firstPage, null, this::page);
+        cache.invalidateAll();
+        cache.get("all", firstPage, null, this::page);
+
+        // 캐시하는 페이지(3) 밖은 매번 loader 로 만든다.
+        cache.get("all", PageRequest.of(3, 15), null, this::page);
+        cache.get("all", PageRequest.of(3, 15), null, this::page);
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private Page<PhotoResponse> page() {
+        loads.incrementAndGet();
+        PhotoResponse response = new PhotoResponse();
+        response.setId(1L);
+        response.setLikeCount(10);
+        return new PageImpl<>(List.of(response), firstPage, 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
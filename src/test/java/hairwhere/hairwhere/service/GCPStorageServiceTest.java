@@ -0,0 +1,141 @@
+package hairwhere.hairwhere.service;
+
+import com.google.cloud.RestorableState;
+import com.google.cloud.WriteChannel;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.CopyWriter;
+import com.google.cloud.storage.Storage;
+import hairwhere.hairwhere.domain.ImageVariant;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 오브젝트를 메모리 맵에 담는 Storage 대역으로 업로드와 축소본 저장 경로를 확인한다.
+ */
+class GCPStorageServiceTest {
+
+    private static final String BUCKET = "bucket";
+
+    // 오브젝트 이름 -> 내용
+    private final Map<String, byte[]> blobs = new ConcurrentHashMap<>();
+
+    private GCPStorageService storageService;
+
+    @BeforeEach
+    void setUp() {
+        Storage storage = mock(Storage.class);
+        doAnswer(invocation -> new MemoryWriteChannel(invocation.<BlobInfo>getArgument(0).getName()))
+            .when(storage).writer(any(BlobInfo.class));
+        doAnswer(invocation -> {
+            blobs.put(invocation.<BlobInfo>getArgument(0).getName(), invocation.getArgument(1));
+            return null;
+        }).when(storage).create(any(BlobInfo.class), any(byte[].class));
+        doAnswer(invocation -> {
+            Storage.CopyRequest request = invocation.getArgument(0);
+            blobs.put(request.getTarget().getName(), blobs.get(request.getSource().getName()));
+            return mock(CopyWriter.class);
+        }).when(storage).copy(any(Storage.CopyRequest.class));
+
+        storageService = new GCPStorageService(storage, new ImageVariantGenerator(0.8f), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(storageService, "bucketName", BUCKET);
+        ReflectionTestUtils.setField(storageService, "uploadChunkSize", 256 * 1024);
+    }
+
+    @Test
+    void uploadStoresOriginalAndResizedVariants() throws IOException {
+        byte[] original = ImageVariantGeneratorTest.withExifOrientation(
+            ImageVariantGeneratorTest.jpeg(new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB)), 6);
+
+        String url = storageService.upload(new MockMultipartFile("image", "photo.jpg", "image/jpeg", original));
+
+        String name = objectNameOf(url);
+        assertThat(url).startsWith("https://storage.googleapis.com/" + BUCKET + "/").endsWith("photo.jpg");
+        assertThat(blobs).containsOnlyKeys(name, ImageVariant.THUMBNAIL.pathOf(name), ImageVariant.MEDIUM.pathOf(name));
+        assertThat(blobs.get(name)).isEqualTo(original);
+
+        // 축소본은 EXIF 방향대로 세워져 저장된다.
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(blobs.get(ImageVariant.THUMBNAIL.pathOf(name))));
+        assertThat(thumbnail.getWidth()).isEqualTo(160);
+        assertThat(thumbnail.getHeight()).isEqualTo(ImageVariant.THUMBNAIL.getMaxEdge());
+    }
+
+    @Test
+    void undecodableImageIsUploadedWithOriginalCopiedAsVariants() throws IOException {
+        byte[] original = ImageVariantGeneratorTest.jpeg(new BufferedImage(100, 80, BufferedImage.TYPE_INT_RGB));
+        for (int i = 2; i < original.length - 1; i++) {
+            if ((original[i] & 0xFF) == 0xFF && (original[i + 1] & 0xFF) == 0xC0) {
+                original[i + 1] = (byte) 0xC3;
+                break;
+            }
+        }
+
+        String url = storageService.upload(new MockMultipartFile("image", "cmyk.jpg", "image/jpeg", original));
+
+        // 디코딩에 실패해도 업로드는 성공하고, 축소본 경로에는 원본이 복사된다.
+        String name = objectNameOf(url);
+        for (ImageVariant variant : ImageVariant.values()) {
+            assertThat(blobs.get(variant.pathOf(name))).isEqualTo(original);
+        }
+    }
+
+    private String objectNameOf(String url) {
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private class MemoryWriteChannel implements WriteChannel {
+
+        private final String name;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean open = true;
+
+        MemoryWriteChannel(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void setChunkSize(int chunkSize) {
+        }
+
+        @Override
+        public RestorableState<WriteChannel> capture() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int written = src.remaining();
+            byte[] chunk = new byte[written];
+            src.get(chunk);
+            bytes.writeBytes(chunk);
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            blobs.put(name, bytes.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.ImageVariant;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantGeneratorTest {
+
+    private final ImageVariantGenerator generator = new ImageVariantGenerator(0.8f);
+
+    @Test
+    void largeImageIsScaledToEachVariantEdge() throws IOException {
+        Map<ImageVariant, byte[]> variants = generator.generate(png(3000, 2000, BufferedImage.TYPE_INT_ARGB));
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.THUMBNAIL)));
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.MEDIUM)));
+
+        assertThat(thumbnail.getWidth()).isEqualTo(ImageVariant.THUMBNAIL.getMaxEdge());
+        assertThat(thumbnail.getHeight()).isEqualTo(213);
+        assertThat(medium.getWidth()).isEqualTo(ImageVariant.MEDIUM.getMaxEdge());
+        assertThat(medium.getHeight()).isEqualTo(720);
+    }
+
+    @Test
+    void smallImageIsNotUpscaled() throws IOException {
+        Map<ImageVariant, byte[]> variants = generator.generate(png(200, 400, BufferedImage.TYPE_INT_RGB));
+
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.MEDIUM)));
+
+        assertThat(medium.getWidth()).isEqualTo(200);
+        assertThat(medium.getHeight()).isEqualTo(400);
+    }
+
+    @Test
+    void unreadableImageProducesNoVariants() throws IOException {
+        Map<ImageVariant, byte[]> variants = generator.generate(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertThat(variants).isEmpty();
+    }
+
+    @Test
+    void exifOrientationIsAppliedToVariants() throws IOException {
+        // 가로로 눕혀 찍힌 픽셀의 왼쪽 위를 빨갛게 칠하고 Orientation=6(시계 방향 90도 회전)을 단다.
+        BufferedImage landscape = new BufferedImage(400, 200, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 40; x++) {
+            for (int y = 0; y < 40; y++) {
+                landscape.setRGB(x, y, 0xFF0000);
+            }
+        }
+        byte[] jpeg = withExifOrientation(jpeg(landscape), 6);
+
+        Map<ImageVariant, byte[]> variants = generator.generate(new ByteArrayInputStream(jpeg));
+
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(variants.get(ImageVariant.MEDIUM)));
+        assertThat(medium.getWidth()).isEqualTo(200);
+        assertThat(medium.getHeight()).isEqualTo(400);
+        // 회전 후에는 빨간 모서리가 오른쪽 위에 있어야 한다.
+        assertThat(isRed(medium.getRGB(medium.getWidth() - 6, 5))).isTrue();
+        assertThat(isRed(medium.getRGB(5, 5))).isFalse();
+    }
+
+    @Test
+    void undecodableJpegProducesNoVariants() throws IOException {
+        // 헤더는 JPEG 이지만 ImageIO 가 디코딩하지 못하는 방식(SOF3, 무손실)으로 표시해 IIOException 을 낸다.
+        byte[] jpeg = jpeg(new BufferedImage(100, 80, BufferedImage.TYPE_INT_RGB));
+        for (int i = 2; i < jpeg.length - 1; i++) {
+            if ((jpeg[i] & 0xFF) == 0xFF && (jpeg[i + 1] & 0xFF) == 0xC0) {
+                jpeg[i + 1] = (byte) 0xC3;
+                break;
+            }
+        }
+
+        Map<ImageVariant, byte[]> variants = generator.generate(new ByteArrayInputStream(jpeg));
+
+        assertThat(variants).isEmpty();
+    }
+
+    static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", bytes);
+        return bytes.toByteArray();
+    }
+
+    /**
+     * JFIF APP0 바로 뒤에 Orientation 태그 하나만 있는 EXIF APP1 세그먼트를 끼워 넣는다.
+     */
+    static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        int app0End = 4 + (((jpeg[4] & 0xFF) << 8) | (jpeg[5] & 0xFF));
+        byte[] tiff = {
+            'M', 'M', 0, 42, 0, 0, 0, 8,              // 빅엔디언 TIFF 헤더, IFD0 은 8 바이트 뒤
+            0, 1,                                     // 항목 1개
+            0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, (byte) orientation, 0, 0, // Orientation, SHORT
+            0, 0, 0, 0                                // 다음 IFD 없음
+        };
+        int length = 2 + 6 + tiff.length;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(jpeg, 0, app0End);
+        bytes.write(0xFF);
+        bytes.write(0xE1);
+        bytes.write(length >> 8);
+        bytes.write(length & 0xFF);
+        bytes.writeBytes("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        bytes.writeBytes(tiff);
+        bytes.write(jpeg, app0End, jpeg.length - app0End);
+        return bytes.toByteArray();
+    }
+
+    private boolean isRed(int rgb) {
+        return ((rgb >> 16) & 0xFF) > 200 && ((rgb >> 8) & 0xFF) < 80 && (rgb & 0xFF) < 80;
+    }
+
+    private ByteArrayInputStream png(int width, int height, int type) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, type), "png", bytes);
+        return new ByteArrayInputStream(bytes.toByteArray());
+    }
+}
@@ -0,0 +1,247 @@
+package hairwhere.hairwhere.service;
+
+import com.sun.net.httpserver.HttpServer;
+import hairwhere.hairwhere.config.KakaoClientConfig;
+import hairwhere.hairwhere.domain.GeoPoint;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KakaoServiceTest {
+
+    private static final String USER_JSON =
+        "{\"id\":1234,\"properties\":{\"nickname\":\"tester\",\"profile_image\":\"http://img\"}}";
+
+    private static final String ADDRESS_JSON =
+        "{\"documents\":[{\"address_name\":\"서울 마포구 양화로 45\",\"x\":\"126.9145\",\"y\":\"37.5509\"}]}";
+
+    private HttpServer stubKakao;
+    private ExecutorService stubExecutor;
+    private ConnectionProvider connectionProvider;
+    private final AtomicInteger kakaoCalls = new AtomicInteger();
+    private final AtomicInteger failingCalls = new AtomicInteger();
+    private final List<String> addressQueries = new CopyOnWriteArrayList<>();
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubKakao = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stubKakao.createContext("/v2/user/me", exchange -> {
+            kakaoCalls.incrementAndGet();
+            byte[] body = USER_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stubKakao.createContext("/v2/local/search/address.json", exchange -> {
+            addressQueries.add(exchange.getRequestHeaders().getFirst("Authorization") + " "
+                + exchange.getRequestURI().getQuery());
+            byte[] body = ADDRESS_JSON.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // 장애 중인 카카오
+        stubKakao.createContext("/failing/v2/user/me", exchange -> {
+            failingCalls.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        stubExecutor = Executors.newCachedThreadPool();
+        stubKakao.setExecutor(stubExecutor);
+        stubKakao.start();
+
+        connectionProvider = new KakaoClientConfig().kakaoConnectionProvider(16, 500);
+
+        userRepository = mock(UserRepository.class);
+        User user = new User(1234L, "tester", "http://img");
+        when(userRepository.findByKakaoId(1234L)).thenReturn(Optional.of(user));
+
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stubKakao.stop(0);
+        stubExecutor.shutdownNow();
+        connectionProvider.dispose();
+    }
+
+    @Test
+    void warmTokenSkipsKakaoCallAndUserLookup() {
+        KakaoService kakaoService = kakaoService(new KakaoUserCache(meterRegistry, 100, 300, Clock.systemUTC()));
+
+        User first = kakaoService.getUserByToken("Bearer token-a");
+        User second = kakaoService.getUserByToken("token-a");
+
+        assertThat(second).isSameAs(first);
+        assertThat(kakaoCalls.get()).isEqualTo(1);
+        verify(userRepository, times(1)).findByKakaoId(any());
+        assertThat(meterRegistry.counter("kakao.user.cache.requests", "result", "hit").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("kakao.user.cache.requests", "result", "miss").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void expiredTokenIsResolvedAgain() {
+        MutableClock clock = new MutableClock();
+        KakaoService kakaoService = kakaoService(new KakaoUserCache(meterRegistry, 100, 60, clock));
+
+        kakaoService.getUserByToken("token-a");
+        clock.advanceSeconds(61);
+        kakaoService.getUserByToken("token-a");
+
+        assertThat(kakaoCalls.get()).isEqualTo(2);
+        assertThat(meterRegistry.counter("kakao.user.cache.evictions", "cause", "expired").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void cacheIsBoundedBySize() {
+        KakaoUserCache cache = new KakaoUserCache(meterRegistry, 2, 300, Clock.systemUTC());
+        KakaoService kakaoService = kakaoService(cache);
+
+        kakaoService.getUserByToken("token-a");
+        kakaoService.getUserByToken("token-b");
+        kakaoService.getUserByToken("token-c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(meterRegistry.counter("kakao.user.cache.evictions", "cause", "size").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void failingKakaoOpensCircuitAndFailsFastWith503() {
+        MutableClock clock = new MutableClock();
+        KakaoApiClient client = kakaoApiClient("/failing/v2/user/me", 2000, 4,
+            new CircuitBreaker(4, 50, 60_000, clock));
+        KakaoService kakaoService = new KakaoService(userRepository, mock(JwtService.class),
+            new KakaoUserCache(meterRegistry, 100, 300, Clock.systemUTC()), client);
+
+        // 창(4번)이 실패로 찰 때까지는 카카오로 호출이 나가고 카카오의 5xx 가 그대로 올라온다.
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> kakaoService.getUserByToken("token"))
+                .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        }
+        assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(failingCalls.get()).isEqualTo(4);
+
+        // 열린 동안에는 카카오를 부르지 않고 바로 503
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> kakaoService.getUserByToken("token"))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                    e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        }
+        assertThat(failingCalls.get()).isEqualTo(4);
+        assertThat(meterRegistry.counter("kakao.api.rejections", "reason", "circuit_open").count()).isEqualTo(10.0);
+        assertThat(meterRegistry.timer("kakao.api.requests", "endpoint", "user_info", "outcome", "server_error").count())
+            .isEqualTo(4);
+
+        // openMillis 가 지나면 시험 호출 한 번만 나가고, 실패하면 다시 열린다.
+        clock.advanceSeconds(60);
+        assertThatThrownBy(() -> kakaoService.getUserByToken("token"))
+            .isInstanceOf(WebClientResponseException.InternalServerError.class);
+        assertThat(failingCalls.get()).isEqualTo(5);
+        assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> kakaoService.getUserByToken("token"))
+            .isInstanceOf(ResponseStatusException.class);
+        assertThat(failingCalls.get()).isEqualTo(5);
+    }
+
+    @Test
+    void newSalonAddressIsGeocodedThroughKakao() {
+        KnownAddressGeocoder known = mock(KnownAddressGeocoder.class);
+        when(known.geocode(anyString())).thenReturn(Optional.empty());
+        KakaoApiClient client = kakaoApiClient("/v2/user/me", 2000, 32,
+            new CircuitBreaker(20, 50, 10_000, Clock.systemUTC()));
+
+        Optional<GeoPoint> point = new KakaoAddressGeocoder(known, client, "rest-key").geocode("서울 마포구 양화로 45");
+
+        assertThat(point).contains(GeoPoint.of(37.5509, 126.9145));
+        assertThat(addressQueries).containsExactly("KakaoAK rest-key query=서울 마포구 양화로 45");
+    }
+
+    @Test
+    void knownAddressIsGeocodedWithoutCallingKakao() {
+        KnownAddressGeocoder known = mock(KnownAddressGeocoder.class);
+        when(known.geocode("서울 마포구 양화로 45")).thenReturn(Optional.of(GeoPoint.of(37.5, 126.9)));
+        KakaoApiClient client = mock(KakaoApiClient.class);
+
+        Optional<GeoPoint> point = new KakaoAddressGeocoder(known, client, "rest-key").geocode("서울 마포구 양화로 45");
+
+        assertThat(point).contains(GeoPoint.of(37.5, 126.9));
+        verify(client, never()).searchAddress(any(), any());
+    }
+
+    private KakaoService kakaoService(KakaoUserCache cache) {
+        KakaoApiClient client = kakaoApiClient("/v2/user/me", 2000, 32,
+            new CircuitBreaker(20, 50, 10_000, Clock.systemUTC()));
+        return new KakaoService(userRepository, mock(JwtService.class), cache, client);
+    }
+
+    private KakaoApiClient kakaoApiClient(String path, long responseTimeoutMs, int maxConcurrentCalls,
+                                          CircuitBreaker circuitBreaker) {
+        String baseUri = "http://localhost:" + stubKakao.getAddress().getPort();
+        WebClient webClient = new KakaoClientConfig()
+            .kakaoWebClient(WebClient.builder(), connectionProvider, 1000, responseTimeoutMs);
+        return new KakaoApiClient(webClient, meterRegistry, baseUri + path, baseUri + "/oauth/token",
+            baseUri + "/v2/local/search/address.json", maxConcurrentCalls, circuitBreaker);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
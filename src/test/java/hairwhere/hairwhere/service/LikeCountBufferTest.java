@@ -0,0 +1,142 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Like;
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.repository.LikeRepository;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import hairwhere.hairwhere.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // flush 가 각자 커밋한 값을 바로 읽도록
+@Import({LikeCountBuffer.class, SimpleMeterRegistry.class})
+class LikeCountBufferTest {
+
+    private static final int WRITERS = 8;
+    private static final int ADDS_PER_WRITER = 2_000;
+
+    @Autowired
+    private LikeCountBuffer likeCountBuffer;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Photo photo;
+
+    @BeforeEach
+    void setUp() {
+        likeRepository.deleteAll();
+        photoRepository.deleteAll();
+        photo = photoRepository.save(Photo.builder()
+            .nickname("author")
+            .created(LocalDateTime.now())
+            .build());
+    }
+
+    @Test
+    void concurrentAddsAndFlushesNeitherLoseNorDoubleCount() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_WRITER; i++) {
+                        // +2, -1 을 번갈아 넣어 음수 증감도 함께 섞는다.
+                        likeCountBuffer.add(photo.getId(), i % 2 == 0 ? 2 : -1);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> flusher = executor.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    likeCountBuffer.flush();
+                }
+                return null;
+            });
+
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            flusher.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        likeCountBuffer.drain();
+
+        long expected = (long) WRITERS * (ADDS_PER_WRITER / 2);
+        assertThat(likeCount()).isEqualTo(expected);
+        assertThat(likeCountBuffer.pendingDelta(photo.getId())).isZero();
+    }
+
+    @Test
+    void reconcileRestoresLikeCountFromLikesRows() {
+        for (long i = 0; i < 3; i++) {
+            User user = userRepository.save(new User(100L + i, "user" + i, null));
+            likeRepository.save(new Like(photo, user));
+        }
+        // 반영되지 못하고 사라진 증감을 흉내 낸다.
+        likeCountBuffer.add(photo.getId(), 1);
+        likeCountBuffer.flush();
+        assertThat(likeCount()).isEqualTo(1);
+
+        likeCountBuffer.reconcile();
+
+        assertThat(likeCount()).isEqualTo(3);
+    }
+
+    @Test
+    void startupReconcileFixesPhotosThatWereNeverTouched() {
+        User user = userRepository.save(new User(200L, "user", null));
+        likeRepository.save(new Like(photo, user));
+        jdbcTemplate.update("UPDATE photo SET like_count = 7 WHERE photo_id = ?", photo.getId());
+
+        likeCountBuffer.reconcileAll();
+
+        assertThat(likeCount()).isEqualTo(1);
+    }
+
+    private long likeCount() {
+        return jdbcTemplate.queryForObject("SELECT like_count FROM photo WHERE photo_id = ?", Long.class, photo.getId());
+    }
+}
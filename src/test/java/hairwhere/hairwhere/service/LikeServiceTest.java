@@ -0,0 +1,130 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.repository.LikeRepository;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import hairwhere.hairwhere.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 스레드마다 각자 트랜잭션을 커밋하도록
+@Import({LikeService.class, UserService.class, LikeCountBuffer.class, FeedPageCache.class,
+    PhotoResponseAssembler.class, ContentVersions.class, SalonDirectory.class, TrendingEngine.class,
+    SimpleMeterRegistry.class})
+class LikeServiceTest {
+
+    private static final int TOGGLERS = 64;
+    private static final int TOGGLES_PER_USER = 5;
+
+    @Autowired
+    private LikeService likeService;
+
+    @Autowired
+    private LikeCountBuffer likeCountBuffer;
+
+    @Autowired
+    private LikeRepository likeRepository;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Photo photo;
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        photo = photoRepository.save(Photo.builder()
+            .nickname("author")
+            .created(LocalDateTime.now())
+            .build());
+        for (int i = 0; i < TOGGLERS; i++) {
+            users.add(userRepository.save(new User((long) i, "user" + i, null)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        likeRepository.deleteAllInBatch();
+        photoRepository.deleteAll();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void likeCountMatchesLikeRowsUnderConcurrentToggles() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(TOGGLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (User user : users) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < TOGGLES_PER_USER; i++) {
+                    likeService.isLiked(photo.getId(), user.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // 홀수 번 토글했으므로 모두 좋아요 상태. 카운터는 아직 버퍼에만 있다.
+        assertThat(likeRepository.countByPhotoId(photo.getId())).isEqualTo(TOGGLERS);
+        assertThat(likeCount()).isZero();
+        assertThat(likeCountBuffer.pendingDelta(photo.getId())).isEqualTo(TOGGLERS);
+
+        likeCountBuffer.flush();
+
+        assertThat(likeCount()).isEqualTo(TOGGLERS);
+        assertThat(likeCountBuffer.pendingDelta(photo.getId())).isZero();
+    }
+
+    @Test
+    void likeAndUnlikeAreIdempotent() {
+        Long userId = users.get(0).getId();
+
+        likeService.like(photo.getId(), userId);
+        likeService.like(photo.getId(), userId);
+        likeCountBuffer.flush();
+        assertThat(likeRepository.countByPhotoId(photo.getId())).isEqualTo(1);
+        assertThat(likeCount()).isEqualTo(1);
+
+        likeService.unlike(photo.getId(), userId);
+        likeService.unlike(photo.getId(), userId);
+        likeCountBuffer.flush();
+        assertThat(likeRepository.countByPhotoId(photo.getId())).isZero();
+        assertThat(likeCount()).isZero();
+    }
+
+    private int likeCount() {
+        return photoRepository.findById(photo.getId()).orElseThrow().getLikeCount();
+    }
+}
@@ -0,0 +1,120 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Like;
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.domain.User;
+import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PhotoResponseAssembler.class, LikeCountBuffer.class, SimpleMeterRegistry.class})
+class PhotoResponseAssemblerTest {
+
+    private static final int PHOTO_COUNT = 40;
+    private static final int LIKERS_PER_PHOTO = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private PhotoResponseAssembler photoResponseAssembler;
+
+    private User viewer;
+
+    @BeforeEach
+    void setUp() {
+        viewer = entityManager.persist(new User(2000L, "viewer", "profile-viewer"));
+
+        List<User> likers = new ArrayList<>();
+        for (int i = 0; i < LIKERS_PER_PHOTO; i++) {
+            likers.add(entityManager.persist(new User(1000L + i, "liker" + i, "profile" + i)));
+        }
+
+        for (int i = 0; i < PHOTO_COUNT; i++) {
+            User author = entityManager.persist(new User((long) i, "author" + i, "profile-author" + i));
+            Photo photo = entityManager.persist(Photo.builder()
+                .kakaoId(author.getKakaoId())
+                .nickname(author.getNickName())
+                .photoImagePath(new ArrayList<>(List.of("c" + i, "a" + i, "b" + i)))
+                .created(LocalDateTime.now().minusMinutes(i))
+                .user(author)
+                .build());
+            for (User liker : likers) {
+                entityManager.persist(new Like(photo, liker));
+            }
+            if (i % 2 == 0) {
+                entityManager.persist(new Like(photo, viewer));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void queryCountPerPageDoesNotDependOnPageSize() {
+        long smallPage = countStatements(5);
+        long mediumPage = countStatements(15);
+        long largePage = countStatements(30);
+
+        assertThat(smallPage).isEqualTo(mediumPage).isEqualTo(largePage);
+        // 페이지 조회 + COUNT + 이미지 경로 + 작성자 + 좋아요 미리보기 + viewer 좋아요 여부
+        assertThat(largePage).isEqualTo(6);
+    }
+
+    @Test
+    void responsesAreFullyPopulated() {
+        Page<PhotoResponse> page = photoResponseAssembler.toResponses(
+            photoRepository.findAll(PageRequest.of(0, 15, Sort.by(Sort.Direction.DESC, "created"))), viewer.getId());
+
+        PhotoResponse first = page.getContent().get(0);
+        // 올린 순서 그대로 (첫 이미지가 썸네일)
+        assertThat(first.getPhotoImagePath()).containsExactly("c0", "a0", "b0");
+        assertThat(first.getKakaoId()).isEqualTo(0L);
+        assertThat(first.getUserProfilePath()).isEqualTo("profile-author0");
+        // 좋아요한 사용자는 전체가 아니라 미리보기 크기만큼만 담긴다.
+        assertThat(first.getLikedNickNames()).hasSize(PhotoResponse.LIKER_PREVIEW_SIZE);
+        assertThat(first.isViewerHasLiked()).isTrue();
+        assertThat(page.getContent().get(1).isViewerHasLiked()).isFalse();
+    }
+
+    private long countStatements(int pageSize) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Page<Photo> photos = photoRepository.findAll(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "created")));
+        Page<PhotoResponse> responses = photoResponseAssembler.toResponses(photos, viewer.getId());
+        assertThat(responses.getContent()).hasSize(pageSize);
+
+        return statistics.getPrepareStatementCount();
+    }
+}
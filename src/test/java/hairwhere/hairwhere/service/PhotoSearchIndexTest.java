@@ -0,0 +1,87 @@
+package hairwhere.hairwhere.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhotoSearchIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private PhotoSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PhotoSearchIndex();
+        // created 는 id 순서와 다르게 넣는다.
+        index.add(1, "layered", "long", "brown", "female", BASE.plusHours(3));
+        index.add(2, "layered", "short", "black", "male", BASE.plusHours(1));
+        index.add(3, "bob", "short", "Brown", "female", BASE.plusHours(5));
+        index.add(4, "bob", "long", "ash", "female", BASE.plusHours(2));
+        index.add(5, "layered", "long", "black", "female", BASE.plusHours(4));
+    }
+
+    @Test
+    void attributesAreAndedAndValuesAreOred() {
+        Map<SearchAttribute, Set<String>> filters = new EnumMap<>(SearchAttribute.class);
+        filters.put(SearchAttribute.HAIR_COLOR, Set.of("brown", "black"));
+        filters.put(SearchAttribute.GENDER, Set.of("female"));
+
+        PhotoSearchIndex.IdPage page = index.search(filters, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created")));
+
+        // 대소문자는 구분하지 않고, created 내림차순
+        assertThat(page.getIds()).containsExactly(3L, 5L, 1L);
+        assertThat(page.getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    void pagesAreCutAfterSorting() {
+        PhotoSearchIndex.IdPage second = index.search(Map.of(), PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "created")));
+        PhotoSearchIndex.IdPage byId = index.search(Map.of(), PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "id")));
+
+        assertThat(second.getIds()).containsExactly(1L, 4L);
+        assertThat(second.getTotal()).isEqualTo(5);
+        assertThat(byId.getIds()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void removedPhotoIsNotFound() {
+        index.remove(3);
+
+        PhotoSearchIndex.IdPage page = index.search(Map.of(SearchAttribute.HAIR_NAME, Set.of("bob")), PageRequest.of(0, 10));
+
+        assertThat(page.getIds()).containsExactly(4L);
+    }
+
+    @Test
+    void facetsIgnoreTheirOwnSelection() {
+        Map<SearchAttribute, Set<String>> filters = new EnumMap<>(SearchAttribute.class);
+        filters.put(SearchAttribute.HAIR_COLOR, Set.of("black"));
+        filters.put(SearchAttribute.GENDER, Set.of("female"));
+
+        PhotoSearchIndex.FacetCounts facets = index.facets(filters);
+
+        assertThat(facets.getTotal()).isEqualTo(1);
+        // 색상은 성별(female) 조건만 적용해 센다. 원래 표기는 처음 들어온 값("brown")
+        Map<String, Long> colors = facets.getCounts().get(SearchAttribute.HAIR_COLOR);
+        assertThat(colors).containsOnly(Map.entry("brown", 2L), Map.entry("black", 1L), Map.entry("ash", 1L));
+        assertThat(colors.keySet()).first().isEqualTo("brown");
+        // 성별은 색상(black) 조건만 적용해 센다.
+        assertThat(facets.getCounts().get(SearchAttribute.GENDER))
+            .containsOnly(Map.entry("female", 1L), Map.entry("male", 1L));
+        assertThat(facets.getCounts().get(SearchAttribute.HAIR_NAME)).containsOnly(Map.entry("layered", 1L));
+    }
+
+    @Test
+    void unsupportedSortFallsBackToDatabase() {
+        assertThat(index.search(Map.of(), PageRequest.of(0, 10, Sort.by("likeCount")))).isNull();
+    }
+}
@@ -0,0 +1,281 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.config.AsyncConfig;
+import hairwhere.hairwhere.domain.GeoPoint;
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.dto.CursorPage;
+import hairwhere.hairwhere.dto.FeedCursor;
+import hairwhere.hairwhere.dto.PhotoResponse;
+import hairwhere.hairwhere.dto.SearchRequest;
+import hairwhere.hairwhere.dto.UploadRequest;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PhotoService.class, PhotoResponseAssembler.class, LikeCountBuffer.class, SimpleMeterRegistry.class,
+    PhotoSearchIndex.class, FeedPageCache.class, ContentVersions.class, SalonDirectory.class, TrendingEngine.class,
+    KnownAddressGeocoder.class, AsyncConfig.class})
+class PhotoServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    @Autowired
+    private PhotoService photoService;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @MockitoBean
+    private GCPStorageService gcpStorageService;
+
+    @MockitoBean
+    private BlobDeletionWorker blobDeletionWorker;
+
+    @Test
+    void cursorRoundTripsCreatedAndId() {
+        FeedCursor cursor = new FeedCursor(BASE.plusNanos(123_000_000), 42L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode());
+
+        assertThat(decoded.getCreated()).isEqualTo(cursor.getCreated());
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(FeedCursor.decode(null)).isNull();
+        assertThat(FeedCursor.decode("")).isNull();
+    }
+
+    @Test
+    void feedPagesThroughTiesOnCreatedWithoutGapsOrDuplicates() {
+        List<Photo> photos = new ArrayList<>();
+        // 같은 created 가 여러 장이면 id 내림차순으로 이어져야 한다.
+        for (int i = 0; i < 5; i++) {
+            photos.add(save("female", BASE));
+        }
+        for (int i = 1; i <= 4; i++) {
+            photos.add(save(i % 2 == 0 ? "female" : "male", BASE.minusMinutes(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> expected = photos.stream()
+            .sorted(Comparator.comparing(Photo::getCreated).reversed()
+                .thenComparing(Comparator.comparing(Photo::getId).reversed()))
+            .map(Photo::getId)
+            .toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        CursorPage<PhotoResponse> page;
+        do {
+            page = photoService.findAllFeed(cursor, 2, null);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(2);
+            page.getItems().forEach(photo -> seen.add(photo.getId()));
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+        // 마지막 페이지는 다음 커서가 없다.
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void lastPageIsExactlyFullWithoutNext() {
+        for (int i = 0; i < 4; i++) {
+            save("female", BASE.minusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPage<PhotoResponse> first = photoService.findAllFeed(null, 2, null);
+        CursorPage<PhotoResponse> last = photoService.findAllFeed(first.getNextCursor(), 2, null);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(last.getItems()).hasSize(2);
+        assertThat(last.isHasNext()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void filteredFeedKeepsFilterAcrossPages() {
+        for (int i = 0; i < 6; i++) {
+            save(i % 2 == 0 ? "female" : "male", BASE.minusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPage<PhotoResponse> first = photoService.findByGenderFeed("female", null, 2, null);
+        CursorPage<PhotoResponse> second = photoService.findByGenderFeed("female", first.getNextCursor(), 2, null);
+
+        assertThat(first.getItems()).extracting(PhotoResponse::getGender).containsOnly("female");
+        assertThat(second.getItems()).extracting(PhotoResponse::getGender).containsExactly("female");
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void oversizeSearchPageIsClampedToMaxFeedSize() {
+        for (int i = 0; i < 3; i++) {
+            save("female", BASE.minusMinutes(i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Page<PhotoResponse> page = photoService.search(new SearchRequest(), PageRequest.of(0, 1_000_000), null);
+
+        assertThat(page.getSize()).isEqualTo(100);
+        assertThat(page.getContent()).hasSize(3);
+    }
+
+    @Test
+    void searchPageBeyondMaxDepthIsRejected() {
+        assertThatThrownBy(() -> photoService.search(new SearchRequest(), PageRequest.of(Integer.MAX_VALUE, 100), null))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThatThrownBy(() -> photoService.search(new SearchRequest(), PageRequest.of(100, 100), null))
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void nearbyKeepsOnlyPhotosWithinTheRadius() {
+        Photo near = saveAt(37.5705, 126.9780, BASE);                     // 북쪽 약 0.45km
+        saveAt(37.5665, 126.9960, BASE.minusMinutes(1));                  // 동쪽 약 1.6km
+        // 외접 사각형 안이지만 반경 밖인 모서리(약 1.2km)
+        saveAt(37.5745, 126.9880, BASE.minusMinutes(2));
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPage<PhotoResponse> page = photoService.findNearby(37.5665, 126.9780, 1, null, 10, null);
+
+        assertThat(page.getItems()).extracting(PhotoResponse::getId).containsExactly(near.getId());
+        assertThat(page.isHasNext()).isFalse();
+    }
+
+    @Test
+    void nearbyPagesContinueFromTheCursorWithoutGapsOrDuplicates() {
+        List<Photo> photos = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            // 같은 created 가 섞여도 id 내림차순으로 이어져야 한다.
+            photos.add(saveAt(37.5665 + i * 0.001, 126.9780, BASE.minusMinutes(i / 2)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> expected = photos.stream()
+            .sorted(Comparator.comparing(Photo::getCreated).reversed()
+                .thenComparing(Comparator.comparing(Photo::getId).reversed()))
+            .map(Photo::getId)
+            .toList();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        CursorPage<PhotoResponse> page;
+        do {
+            page = photoService.findNearby(37.5665, 126.9780, 2, cursor, 3, null);
+            page.getItems().forEach(photo -> seen.add(photo.getId()));
+            cursor = page.getNextCursor();
+        } while (page.isHasNext());
+
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void nearbyMergesPhotosFromCellsOnBothSidesOfACellBoundary() {
+        // 적도와 본초 자오선이 만나는 곳은 geohash 첫 글자부터 다른 네 셀(7, k, e, s)로 나뉜다.
+        Photo northEast = saveAt(0.002, 0.002, BASE);
+        Photo southWest = saveAt(-0.002, -0.002, BASE.minusMinutes(1));
+        Photo northWest = saveAt(0.002, -0.002, BASE.minusMinutes(2));
+        Photo southEast = saveAt(-0.002, 0.002, BASE.minusMinutes(3));
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPage<PhotoResponse> first = photoService.findNearby(0.0, 0.0, 1, null, 2, null);
+        CursorPage<PhotoResponse> second = photoService.findNearby(0.0, 0.0, 1, first.getNextCursor(), 2, null);
+
+        assertThat(first.getItems()).extracting(PhotoResponse::getId)
+            .containsExactly(northEast.getId(), southWest.getId());
+        assertThat(second.getItems()).extracting(PhotoResponse::getId)
+            .containsExactly(northWest.getId(), southEast.getId());
+        assertThat(second.isHasNext()).isFalse();
+    }
+
+    @Test
+    void failedParallelUploadDeletesUploadedBlobsAndRethrowsTheFailure() {
+        MockMultipartFile first = image("first.jpg");
+        MockMultipartFile broken = image("broken.jpg");
+        MockMultipartFile third = image("third.jpg");
+        when(gcpStorageService.upload(any())).thenAnswer(invocation -> {
+            MockMultipartFile file = invocation.getArgument(0);
+            if (file == broken) {
+                throw new IllegalArgumentException("이미지 저장 실패");
+            }
+            return "https://storage.googleapis.com/bucket/" + file.getOriginalFilename();
+        });
+        UploadRequest request = new UploadRequest("text", "cut", "female", null, "salon", null,
+            null, null, "short", "black", null);
+
+        // 원인 예외가 그대로 올라와야 컨트롤러가 400 과 메시지로 응답한다.
+        assertThatThrownBy(() -> photoService.upload("author", new MockMultipartFile[]{first, broken, third},
+            0, BASE, null, request))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("이미지 저장 실패");
+
+        verify(gcpStorageService).deleteImageFromGCP("https://storage.googleapis.com/bucket/first.jpg");
+        verify(gcpStorageService).deleteImageFromGCP("https://storage.googleapis.com/bucket/third.jpg");
+        verify(gcpStorageService, never()).deleteImageFromGCP("https://storage.googleapis.com/bucket/broken.jpg");
+        assertThat(photoRepository.count()).isZero();
+    }
+
+    private MockMultipartFile image(String name) {
+        return new MockMultipartFile("image", name, "image/jpeg", new byte[]{1, 2, 3});
+    }
+
+    private Photo saveAt(double latitude, double longitude, LocalDateTime created) {
+        Photo photo = Photo.builder()
+            .nickname("author")
+            .photoImagePath(new ArrayList<>(List.of("image")))
+            .gender("female")
+            .hairSalon("salon")
+            .created(created)
+            .build();
+        photo.locateAt(GeoPoint.of(latitude, longitude));
+        return photoRepository.save(photo);
+    }
+
+    private Photo save(String gender, LocalDateTime created) {
+        return photoRepository.save(Photo.builder()
+            .nickname("author")
+            .photoImagePath(new ArrayList<>(List.of("image")))
+            .gender(gender)
+            .hairSalon("salon")
+            .created(created)
+            .build());
+    }
+}
@@ -0,0 +1,152 @@
+package hairwhere.hairwhere.service;
+
+import hairwhere.hairwhere.domain.Photo;
+import hairwhere.hairwhere.repository.PhotoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // 커밋 후 갱신을 바로 확인하도록
+@Import({SalonDirectory.class, LikeCountBuffer.class, SimpleMeterRegistry.class})
+class SalonDirectoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private SalonDirectory salonDirectory;
+
+    @Autowired
+    private PhotoRepository photoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        photoRepository.deleteAll();
+    }
+
+    @Test
+    void rebuildAggregatesPerSalon() {
+        save("salonA", "layered", 3, 1);
+        save("salonA", "layered", 1, 2);
+        Photo latest = save("salonA", "bob", 0, 3);
+        save("salonB", "perm", 10, 4);
+        save(null, "perm", 100, 5);
+
+        salonDirectory.rebuild();
+
+        SalonDirectory.Summary salonA = salonDirectory.find("salonA").orElseThrow();
+        assertThat(salonA.getPhotoCount()).isEqualTo(3);
+        assertThat(salonA.getLikeCount()).isEqualTo(4);
+        assertThat(salonA.getTopStyles()).containsExactly("layered", "bob");
+        assertThat(salonA.getLatestPhotoId()).isEqualTo(latest.getId());
+
+        Page<SalonDirectory.Summary> popular = salonDirectory.list(PageRequest.of(0, 10));
+        assertThat(popular.getTotalElements()).isEqualTo(2);
+        assertThat(popular.getContent()).extracting(SalonDirectory.Summary::getHairSalon)
+            .containsExactly("salonB", "salonA");
+    }
+
+    @Test
+    void incrementalChangesKeepRankingAndLatestPhoto() {
+        save("salonA", "layered", 5, 1);
+        Photo salonB = save("salonB", "perm", 4, 2);
+        salonDirectory.rebuild();
+
+        Photo newest = save("salonB", "bob", 0, 10);
+        salonDirectory.photoAdded(newest);
+        salonDirectory.likeChanged("salonB", 2);
+
+        SalonDirectory.Summary summary = salonDirectory.find("salonB").orElseThrow();
+        assertThat(summary.getPhotoCount()).isEqualTo(2);
+        assertThat(summary.getLikeCount()).isEqualTo(6);
+        assertThat(summary.getLatestPhotoId()).isEqualTo(newest.getId());
+        assertThat(salonDirectory.list(PageRequest.of(0, 1)).getContent())
+            .extracting(SalonDirectory.Summary::getHairSalon)
+            .containsExactly("salonB");
+
+        photoRepository.delete(newest);
+        salonDirectory.photoRemoved(newest);
+
+        summary = salonDirectory.find("salonB").orElseThrow();
+        assertThat(summary.getPhotoCount()).isEqualTo(1);
+        assertThat(summary.getLatestPhotoId()).isEqualTo(salonB.getId());
+        assertThat(summary.getTopStyles()).containsExactly("perm");
+    }
+
+    @Test
+    void likesArrivingWhileRebuildingAreCountedExactlyOnce() {
+        Photo photo = save("salonA", "layered", 3, 1);
+        AtomicReference<Runnable> afterFlush = new AtomicReference<>(() -> { });
+        LikeCountBuffer buffer = new LikeCountBuffer(jdbcTemplate, new SimpleMeterRegistry(), false) {
+            @Override
+            public synchronized void flush() {
+                super.flush();
+                afterFlush.getAndSet(() -> { }).run();
+            }
+        };
+        SalonDirectory directory = new SalonDirectory(photoRepository, buffer, transactionManager);
+        directory.rebuild();
+
+        // 재구성 전에 버퍼와 집계에 들어간 좋아요: 재구성의 flush 로 스냅숏에 들어가므로 다시 더하면 안 된다.
+        like(buffer, directory, photo);
+        // 재구성의 flush 가 끝난 직후 들어온 좋아요: 스냅숏에는 없으므로 저널에서 다시 더해야 한다.
+        afterFlush.set(() -> like(buffer, directory, photo));
+        directory.rebuild();
+
+        assertThat(directory.find("salonA").orElseThrow().getLikeCount()).isEqualTo(5);
+
+        // 남은 증감까지 DB 에 반영한 뒤 다시 만들어도 어긋나지 않는다.
+        directory.rebuild();
+        assertThat(directory.find("salonA").orElseThrow().getLikeCount()).isEqualTo(5);
+    }
+
+    @Test
+    void oversizeListPageIsClamped() {
+        save("salonA", "layered", 1, 1);
+        salonDirectory.rebuild();
+
+        Page<SalonDirectory.Summary> page = salonDirectory.list(PageRequest.of(0, Integer.MAX_VALUE));
+
+        assertThat(page.getSize()).isEqualTo(SalonDirectory.MAX_PAGE_SIZE);
+        assertThat(page.getContent()).hasSize(1);
+    }
+
+    private void like(LikeCountBuffer buffer, SalonDirectory directory, Photo photo) {
+        buffer.add(photo.getId(), 1);
+        directory.likeChanged(photo.getHairSalon(), 1);
+    }
+
+    private Photo save(String hairSalon, String hairName, int likeCount, int minutes) {
+        return photoRepository.save(Photo.builder()
+            .nickname("author")
+            .hairSalon(hairSalon)
+            .hairName(hairName)
+            .likeCount(likeCount)
+            .created(BASE.plusMinutes(minutes))
+            .build());
+    }
+}
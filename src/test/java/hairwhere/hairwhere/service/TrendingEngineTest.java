@@ -0,0 +1,92 @@
+package hairwhere.hairwhere.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingEngineTest {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(12);
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    private final TrendingEngine engine = new TrendingEngine(null, null, clock, HALF_LIFE, 10, 1, 2);
+
+    @Test
+    void recentActivityOutranksOlderActivity() {
+        long start = clock.millis();
+        engine.record(1L, "male", 5, start);
+        // 반감기 두 번 뒤의 좋아요 3개는 처음의 좋아요 12개와 같다.
+        clock.advance(HALF_LIFE.multipliedBy(2));
+        engine.record(2L, "female", 3, clock.millis());
+        engine.commentAdded(3L, "female");
+
+        assertThat(engine.top(null, 10)).containsExactly(2L, 3L, 1L);
+        assertThat(engine.top("female", 10)).containsExactly(2L, 3L);
+        assertThat(engine.top("Male", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void unlikeLowersScoreAndRemoveDropsPhoto() {
+        engine.likeChanged(1L, "male", 2);
+        engine.likeChanged(2L, "male", 1);
+        engine.likeChanged(1L, "male", -2);
+
+        assertThat(engine.top(null, 10)).containsExactly(2L, 1L);
+
+        engine.remove(2L);
+        assertThat(engine.top("male", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void rescaleKeepsOrderAndPrunesStaleScores() {
+        for (long photoId = 1; photoId <= 100; photoId++) {
+            engine.record(photoId, null, photoId, clock.millis());
+        }
+        // 후보는 size 의 두 배까지만 유지한다.
+        assertThat(engine.top(null, 100)).hasSize(20).startsWith(100L, 99L, 98L);
+
+        clock.advance(HALF_LIFE.multipliedBy(10));
+        engine.record(7L, null, 1, clock.millis());
+        engine.rescale();
+
+        // 1024 분의 1 로 줄어든 점수 중 기준보다 큰 것만 남는다.
+        assertThat(engine.top(null, 3)).containsExactly(7L, 100L, 99L);
+
+        clock.advance(HALF_LIFE.multipliedBy(20));
+        engine.rescale();
+        assertThat(engine.top(null, 10)).isEmpty();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}